@@ -0,0 +1,29 @@
+package com.trademate.features.attachment;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventListener;
+import com.trademate.shared.events.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Releases a job's attachments once the job is deleted. jobs is partitioned,
+ * so job_attachments cannot cascade from it with a foreign key.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentCleanupListener implements DomainEventListener {
+
+    private final AttachmentService attachmentService;
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event.type() == DomainEventType.JOB_DELETED) {
+                attachmentService.deleteJobAttachments(event.userId(), event.aggregateId());
+            }
+        }
+    }
+}
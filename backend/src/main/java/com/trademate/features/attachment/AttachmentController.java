@@ -0,0 +1,125 @@
+package com.trademate.features.attachment;
+
+import com.trademate.features.attachment.model.JobAttachment;
+import com.trademate.shared.storage.BlobStore;
+import com.trademate.shared.web.ZeroCopyFileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/jobs/{jobId}/attachments")
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    // Client-supplied types shown inline: raster images and PDFs only. Anything
+    // else, notably image/svg+xml and text/html, can run script on this origin.
+    private static final Set<String> INLINE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp",
+            "image/avif", "image/bmp", MediaType.APPLICATION_PDF_VALUE);
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate()
+            .getHeaderValue() + ", immutable";
+
+    private final AttachmentService attachmentService;
+    private final BlobStore blobStore;
+
+    @GetMapping
+    public ResponseEntity<List<JobAttachment>> getAttachments(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long jobId) {
+        return ResponseEntity.ok(attachmentService.getAttachments(userDetails.getUsername(), jobId));
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobAttachment> uploadAttachment(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long jobId, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(attachmentService.upload(userDetails.getUsername(), jobId, file));
+    }
+
+    /** Attachment bytes; supports single Range requests so large files can be resumed or seeked. */
+    @GetMapping("/{id}/content")
+    public void getContent(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long jobId,
+            @PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var attachment = attachmentService.getAttachment(userDetails.getUsername(), jobId, id);
+        String etag = "\"" + attachment.getBlobHash() + "\"";
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        String type = attachment.getContentType();
+        boolean inline = isInlineSafe(type);
+        if (!inline || !isPdf(type)) {
+            // Browsers refuse to render PDFs under a sandbox CSP, so those rely on the allowlist alone
+            response.setHeader("Content-Security-Policy", "sandbox");
+        }
+        var disposition = inline ? ContentDisposition.inline() : ContentDisposition.attachment();
+        send(request, response, AttachmentService.blobKey(attachment.getBlobHash()), type,
+                disposition.filename(attachment.getFilename()).build());
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public void getThumbnail(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long jobId,
+            @PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        JobAttachment attachment = attachmentService.getAttachment(userDetails.getUsername(), jobId, id);
+        String key = attachmentService.thumbnailKey(attachment);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        send(request, response, key, MediaType.IMAGE_JPEG_VALUE,
+                ContentDisposition.inline().filename("thumbnail.jpg").build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAttachment(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long jobId, @PathVariable Long id) {
+        attachmentService.deleteAttachment(userDetails.getUsername(), jobId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    static boolean isInlineSafe(String contentType) {
+        return contentType != null && INLINE_TYPES.contains(baseType(contentType));
+    }
+
+    private static boolean isPdf(String contentType) {
+        return MediaType.APPLICATION_PDF_VALUE.equals(baseType(contentType));
+    }
+
+    private static String baseType(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, String key, String contentType,
+            ContentDisposition disposition) throws IOException {
+        Optional<Path> local = blobStore.localPath(key);
+        if (local.isPresent()) {
+            ZeroCopyFileSender.sendRanged(request, response, local.get(), contentType, disposition);
+            return;
+        }
+        // Remote stores have no local file to hand to sendfile; stream the whole blob
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        response.setContentLengthLong(blobStore.size(key));
+        try (InputStream in = blobStore.open(key)) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.trademate.features.attachment;
+
+import com.trademate.features.attachment.model.JobAttachment;
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.job.JobRepository;
+import com.trademate.shared.exception.EntityNotFoundException;
+import com.trademate.shared.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Job attachments over a content-addressed BlobStore.
+ *
+ * Uploads are streamed to a staging file while being hashed, so a file is
+ * never held in memory. A file whose SHA-256 is already stored only gains a
+ * reference. The blob row is locked by the upsert while the file is moved into
+ * place, and the sweeper deletes files under the same row lock, so an upload
+ * cannot race a sweep of the same content.
+ */
+@Slf4j
+@Service
+public class AttachmentService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String ACQUIRE_BLOB = """
+            INSERT INTO attachment_blobs (hash, size_bytes, content_type, ref_count, created_at)
+            VALUES (?, ?, ?, 1, ?)
+            ON CONFLICT (hash) DO UPDATE SET ref_count = attachment_blobs.ref_count + 1, released_at = NULL
+            RETURNING has_thumbnail
+            """;
+    private static final String RELEASE_BLOB = """
+            UPDATE attachment_blobs
+            SET ref_count = ref_count - 1, released_at = CASE WHEN ref_count = 1 THEN ? ELSE released_at END
+            WHERE hash = ?
+            """;
+    private static final String SELECT_SWEEPABLE = """
+            SELECT hash FROM attachment_blobs
+            WHERE ref_count = 0 AND released_at < ?
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JobAttachmentRepository attachmentRepository;
+    private final UserRepository userRepository;
+    private final JobRepository jobRepository;
+    private final BlobStore blobStore;
+    private final AttachmentThumbnailer thumbnailer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration sweepGrace;
+    private final int sweepBatchSize;
+
+    public AttachmentService(JobAttachmentRepository attachmentRepository, UserRepository userRepository,
+            JobRepository jobRepository, BlobStore blobStore, AttachmentThumbnailer thumbnailer,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${app.attachments.sweep-grace:1h}") Duration sweepGrace,
+            @Value("${app.attachments.sweep-batch-size:500}") int sweepBatchSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.userRepository = userRepository;
+        this.jobRepository = jobRepository;
+        this.blobStore = blobStore;
+        this.thumbnailer = thumbnailer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepGrace = sweepGrace;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    static String blobKey(String hash) {
+        return "blobs/" + hash.substring(0, 2) + "/" + hash;
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobAttachment> getAttachments(String username, Long jobId) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return attachmentRepository.findByUserIdAndJobIdOrderByCreatedAtAscIdAsc(user.getId(), jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public JobAttachment getAttachment(String username, Long jobId, Long id) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return attachmentRepository.findByIdAndUserIdAndJobId(id, user.getId(), jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment not found with ID: " + id));
+    }
+
+    /**
+     * Stores an uploaded file. The copy and hash happen before any transaction
+     * is opened so a slow upload does not hold a database connection.
+     */
+    public JobAttachment upload(String username, Long jobId, MultipartFile file) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        jobRepository.findByIdAndUserId(jobId, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + jobId));
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Attachment is empty");
+        }
+        String contentType = file.getContentType() == null || file.getContentType().length() > MAX_NAME_LENGTH
+                ? DEFAULT_CONTENT_TYPE
+                : file.getContentType();
+
+        Path staged = null;
+        try {
+            staged = blobStore.createTempFile();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = file.getInputStream();
+                    OutputStream out = new DigestOutputStream(Files.newOutputStream(staged), digest)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path source = staged;
+
+            boolean[] hasThumbnail = new boolean[1];
+            JobAttachment saved = transactionTemplate.execute(status -> {
+                hasThumbnail[0] = Boolean.TRUE.equals(jdbcTemplate.queryForObject(ACQUIRE_BLOB, Boolean.class,
+                        hash, size, contentType, Timestamp.valueOf(LocalDateTime.now())));
+                try {
+                    blobStore.put(blobKey(hash), source);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return attachmentRepository.save(JobAttachment.builder()
+                        .jobId(jobId)
+                        .user(user)
+                        .blobHash(hash)
+                        .filename(filename(file.getOriginalFilename()))
+                        .contentType(contentType)
+                        .sizeBytes(size)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            });
+            if (!hasThumbnail[0] && AttachmentThumbnailer.supports(contentType)) {
+                thumbnailer.request(hash);
+            }
+            return saved;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store attachment", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteQuietly(staged);
+        }
+    }
+
+    /**
+     * Key of the attachment's thumbnail. Throws EntityNotFoundException until
+     * it has been generated, queueing generation if it is missing.
+     */
+    public String thumbnailKey(JobAttachment attachment) {
+        if (!AttachmentThumbnailer.supports(attachment.getContentType())) {
+            throw new EntityNotFoundException("Attachment has no thumbnail");
+        }
+        String key = AttachmentThumbnailer.thumbnailKey(attachment.getBlobHash());
+        if (!blobStore.exists(key)) {
+            thumbnailer.request(attachment.getBlobHash());
+            throw new EntityNotFoundException("Thumbnail is not available yet");
+        }
+        return key;
+    }
+
+    @Transactional
+    public void deleteAttachment(String username, Long jobId, Long id) {
+        var attachment = getAttachment(username, jobId, id);
+        attachmentRepository.delete(attachment);
+        release(List.of(attachment.getBlobHash()));
+    }
+
+    /** Removes every attachment of a job, e.g. once the job is deleted. */
+    @Transactional
+    public void deleteJobAttachments(UUID userId, Long jobId) {
+        List<String> hashes = jdbcTemplate.queryForList(
+                "DELETE FROM job_attachments WHERE user_id = ? AND job_id = ? RETURNING blob_hash",
+                String.class, userId, jobId);
+        release(hashes);
+    }
+
+    private void release(List<String> hashes) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(RELEASE_BLOB, hashes, hashes.size(), (ps, hash) -> {
+            ps.setTimestamp(1, now);
+            ps.setString(2, hash);
+        });
+    }
+
+    /**
+     * Deletes blobs that have had no references for sweep-grace. Files are
+     * removed while the rows are locked, before the rows are deleted.
+     */
+    @Scheduled(cron = "${app.attachments.sweep-cron:0 45 3 * * *}")
+    public void sweepUnreferenced() {
+        int removed;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<String> hashes = jdbcTemplate.queryForList(SELECT_SWEEPABLE, String.class,
+                        Timestamp.valueOf(LocalDateTime.now().minus(sweepGrace)), sweepBatchSize);
+                for (String hash : hashes) {
+                    try {
+                        blobStore.delete(blobKey(hash));
+                        blobStore.delete(AttachmentThumbnailer.thumbnailKey(hash));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to delete blob " + hash, e);
+                    }
+                    jdbcTemplate.update("DELETE FROM attachment_blobs WHERE hash = ?", hash);
+                }
+                return hashes.size();
+            });
+            removed = count == null ? 0 : count;
+            if (removed > 0) {
+                log.info("Swept {} unreferenced attachment blobs", removed);
+            }
+        } while (removed == sweepBatchSize);
+    }
+
+    private static String filename(String original) {
+        String name = original == null ? null
+                : StringUtils.getFilename(StringUtils.cleanPath(original.replaceAll("\\p{Cntrl}", "")));
+        if (name == null || name.isBlank()) {
+            return "attachment";
+        }
+        return name.length() > MAX_NAME_LENGTH ? name.substring(name.length() - MAX_NAME_LENGTH) : name;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not remove staged upload {}", file, e);
+        }
+    }
+}
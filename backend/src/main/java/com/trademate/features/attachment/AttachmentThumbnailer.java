@@ -0,0 +1,170 @@
+package com.trademate.features.attachment;
+
+import com.trademate.shared.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates JPEG thumbnails for image attachments on a small bounded pool.
+ * Requests that do not fit in the queue are dropped and retried the next time
+ * the thumbnail is asked for. Large images are decoded with source
+ * subsampling so only about twice the thumbnail size is held in memory.
+ */
+@Slf4j
+@Component
+class AttachmentThumbnailer {
+
+    private static final long MAX_PIXELS = 100_000_000L;
+
+    private final BlobStore blobStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxDimension;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter generated;
+    private final Counter dropped;
+    private final Counter failed;
+
+    AttachmentThumbnailer(BlobStore blobStore, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${app.attachments.thumbnails.size:320}") int maxDimension,
+            @Value("${app.attachments.thumbnails.threads:2}") int threads,
+            @Value("${app.attachments.thumbnails.queue-capacity:64}") int queueCapacity) {
+        this.blobStore = blobStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxDimension = maxDimension;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("attachment-thumbnail-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.generated = Counter.builder("attachments.thumbnails").tag("result", "generated").register(meterRegistry);
+        this.dropped = Counter.builder("attachments.thumbnails").tag("result", "dropped").register(meterRegistry);
+        this.failed = Counter.builder("attachments.thumbnails").tag("result", "failed").register(meterRegistry);
+    }
+
+    static boolean supports(String contentType) {
+        return contentType != null && contentType.startsWith("image/");
+    }
+
+    static String thumbnailKey(String hash) {
+        return "thumbnails/" + hash.substring(0, 2) + "/" + hash + ".jpg";
+    }
+
+    void request(String hash) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            dropped.increment();
+        }
+    }
+
+    private void generate(String hash) {
+        Path temp = null;
+        try {
+            BufferedImage source = decode(hash);
+            if (source == null) {
+                failed.increment();
+                return;
+            }
+            temp = blobStore.createTempFile();
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageIO.write(scale(source), "jpg", out);
+            }
+            blobStore.put(thumbnailKey(hash), temp);
+            jdbcTemplate.update("UPDATE attachment_blobs SET has_thumbnail = TRUE WHERE hash = ?", hash);
+            generated.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to generate thumbnail for blob {}", hash, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("Could not remove thumbnail scratch file {}", temp, e);
+                }
+            }
+        }
+    }
+
+    /** Decodes the image at roughly 2x the thumbnail size, or returns null if it is not a readable image. */
+    private BufferedImage decode(String hash) throws IOException {
+        try (InputStream in = blobStore.open(AttachmentService.blobKey(hash));
+                ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width * height > MAX_PIXELS) {
+                    return null;
+                }
+                int step = (int) Math.max(1, Math.max(width, height) / (maxDimension * 2L));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.trademate.features.attachment;
+
+import com.trademate.features.attachment.model.JobAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JobAttachmentRepository extends JpaRepository<JobAttachment, Long> {
+
+    List<JobAttachment> findByUserIdAndJobIdOrderByCreatedAtAscIdAsc(UUID userId, Long jobId);
+
+    Optional<JobAttachment> findByIdAndUserIdAndJobId(Long id, UUID userId, Long jobId);
+}
@@ -8,10 +8,12 @@ import com.trademate.features.auth.model.Role;
 import com.trademate.features.auth.model.User;
 import com.trademate.features.auth.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -24,7 +26,9 @@ public class AuthService {
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsServiceImpl userDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public AuthResponse register(AuthRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already in use");
@@ -56,6 +60,7 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(usernameOrEmail, request.getPassword()));
         var userDetails = userDetailsService.loadUserByUsername(usernameOrEmail);
         var jwt = jwtUtils.generateToken(userDetails);
+        eventPublisher.publishEvent(new UserLoggedInEvent(userDetails.getUsername()));
         return AuthResponse.builder().token(jwt).build();
     }
 }
@@ -0,0 +1,5 @@
+package com.trademate.features.auth;
+
+/** Published after a successful login, once the token has been issued. */
+public record UserLoggedInEvent(String username) {
+}
@@ -0,0 +1,10 @@
+package com.trademate.features.auth;
+
+import com.trademate.features.auth.model.User;
+
+import java.util.Optional;
+
+/** Username lookups through Hibernate's natural-id API, so they are served from the second-level cache. */
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
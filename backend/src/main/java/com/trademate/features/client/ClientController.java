@@ -1,7 +1,13 @@
 package com.trademate.features.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.trademate.features.client.model.Client;
+import com.trademate.shared.web.ETags;
+import com.trademate.shared.web.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,21 +22,57 @@ public class ClientController {
 
     private final ClientService clientService;
 
+    /** {@code fields} (e.g. id,name,phone) returns only those fields. */
     @GetMapping
-    public ResponseEntity<List<Client>> getClients(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<?>> getClients(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(clientService.getClients(userDetails.getUsername(), fields));
+        }
         return ResponseEntity.ok(clientService.getClients(userDetails.getUsername()));
     }
 
+    /** With {@code fields}, only those fields are returned and no ETag is set. */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getClient(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (fields != null) {
+            return ResponseEntity.ok(clientService.getClient(userDetails.getUsername(), id, fields));
+        }
+        Client client = clientService.getClient(userDetails.getUsername(), id);
+        if (ETags.matches(ifNoneMatch, client.getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(client.getVersion())).build();
+        }
+        return ResponseEntity.ok().eTag(ETags.of(client.getVersion())).body(client);
+    }
+
     @PostMapping
     public ResponseEntity<Client> createClient(@AuthenticationPrincipal UserDetails userDetails,
             @RequestBody Client client) {
-        return ResponseEntity.ok(clientService.createClient(userDetails.getUsername(), client));
+        Client saved = clientService.createClient(userDetails.getUsername(), client);
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
+    /** Requires If-Match with the client's current ETag: 428 without it, 412 if it has changed since. */
     @PutMapping("/{id}")
     public ResponseEntity<Client> updateClient(@AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long id, @RequestBody Client client) {
-        return ResponseEntity.ok(clientService.updateClient(userDetails.getUsername(), id, client));
+            @PathVariable Long id, @RequestBody Client client,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Client saved = clientService.updateClient(userDetails.getUsername(), id, client,
+                ETags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /** JSON Merge Patch; only changed columns are written. If-Match is required as for PUT. */
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Client> patchClient(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Client saved = clientService.patchClient(userDetails.getUsername(), id, patch,
+                ETags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
     @DeleteMapping("/{id}")
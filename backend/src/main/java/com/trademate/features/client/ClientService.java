@@ -1,53 +1,161 @@
 package com.trademate.features.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.trademate.features.client.model.Client;
 import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.geo.Gazetteer;
+import com.trademate.shared.cache.UserGenerationKeyGenerator;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
 import com.trademate.shared.exception.EntityNotFoundException;
+import com.trademate.shared.exception.PreconditionFailedException;
+import com.trademate.shared.projection.FieldCatalog;
+import com.trademate.shared.projection.ProjectionQuery;
+import com.trademate.shared.web.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ClientService {
 
+    // Fields selectable with ?fields= (see FieldCatalog)
+    static final FieldCatalog FIELDS = FieldCatalog.builder("Client", "c")
+            .fields("id", "name", "phone", "email", "address", "latitude", "longitude", "notes", "createdAt",
+                    "version")
+            .build();
+
+    public static final String PROJECTION_CACHE = "clientProjections";
+
+    static final Set<String> PATCHABLE_FIELDS = Set.of("name", "email", "phone", "address", "notes");
+
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
+    private final OutboxWriter outboxWriter;
+    private final Gazetteer gazetteer;
+    private final ObjectMapper objectMapper;
+    private final ProjectionQuery projectionQuery;
 
+    @Transactional(readOnly = true)
     public List<Client> getClients(String username) {
         var user = userRepository.findByUsername(username).orElseThrow();
         return clientRepository.findByUserId(user.getId());
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
+    /** Clients with only the requested fields, selected in SQL rather than filtered after loading. */
+    @Transactional(readOnly = true)
+    @Cacheable(value = PROJECTION_CACHE, keyGenerator = UserGenerationKeyGenerator.NAME, sync = true)
+    public List<Map<String, Object>> getClients(String username, String fields) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return projectionQuery.list(FIELDS.plan(fields), "c.user.id = :userId", Map.of("userId", user.getId()),
+                "c.id");
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = PROJECTION_CACHE, keyGenerator = UserGenerationKeyGenerator.NAME, sync = true)
+    public Map<String, Object> getClient(String username, Long id, String fields) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return projectionQuery.list(FIELDS.plan(fields), "c.user.id = :userId AND c.id = :id",
+                        Map.of("userId", user.getId(), "id", id), null).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Client not found with ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Client getClient(String username, Long id) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return clientRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Client not found with ID: " + id));
+    }
+
+    @Transactional
     public Client createClient(String username, Client clientRequest) {
         var user = userRepository.findByUsername(username).orElseThrow();
         clientRequest.setUser(user);
+        clientRequest.setVersion(null);
         clientRequest.setCreatedAt(LocalDateTime.now());
-        return clientRepository.save(clientRequest);
+        geocode(clientRequest);
+        var saved = clientRepository.save(clientRequest);
+        outboxWriter.append(DomainEventType.CLIENT_CREATED, saved.getId(), user, eventPayload(saved));
+        return saved;
+    }
+
+    /** Applies an update if the client is still at {@code expectedVersion}; see JobService.updateJob. */
+    @Transactional
+    public Client updateClient(String username, Long id, Client clientRequest, Long expectedVersion) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var client = findForUpdate(user, id, expectedVersion);
+        return applyUpdate(user, client, clientRequest);
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
-    public Client updateClient(String username, Long id, Client clientRequest) {
+    /** Applies a JSON Merge Patch of the fields in {@link #PATCHABLE_FIELDS}; see JobService.patchJob. */
+    @Transactional
+    public Client patchClient(String username, Long id, JsonNode patch, Long expectedVersion) {
+        JsonMergePatch.requireOnly(patch, PATCHABLE_FIELDS);
         var user = userRepository.findByUsername(username).orElseThrow();
+        var client = findForUpdate(user, id, expectedVersion);
+        ObjectNode current = objectMapper.valueToTree(client);
+        current.retain(PATCHABLE_FIELDS);
+        Client clientRequest;
+        try {
+            clientRequest = objectMapper.treeToValue(JsonMergePatch.apply(current, patch), Client.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getOriginalMessage());
+        }
+        return applyUpdate(user, client, clientRequest);
+    }
+
+    private Client findForUpdate(User user, Long id, Long expectedVersion) {
         var client = clientRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Client not found with ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(client.getVersion())) {
+            throw new PreconditionFailedException("Client " + id + " has been modified since it was read");
+        }
+        return client;
+    }
+
+    private Client applyUpdate(User user, Client client, Client clientRequest) {
         client.setName(clientRequest.getName());
         client.setEmail(clientRequest.getEmail());
         client.setPhone(clientRequest.getPhone());
-        client.setAddress(clientRequest.getAddress());
+        if (!Objects.equals(client.getAddress(), clientRequest.getAddress())) {
+            client.setAddress(clientRequest.getAddress());
+            geocode(client);
+        }
         client.setNotes(clientRequest.getNotes());
-        return clientRepository.save(client);
+        var saved = clientRepository.saveAndFlush(client);
+        outboxWriter.append(DomainEventType.CLIENT_UPDATED, saved.getId(), user, eventPayload(saved));
+        return saved;
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
+    @Transactional
     public void deleteClient(String username, Long id) {
         var user = userRepository.findByUsername(username).orElseThrow();
         var client = clientRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Client not found with ID: " + id));
         clientRepository.delete(client);
+        outboxWriter.append(DomainEventType.CLIENT_DELETED, id, user, eventPayload(client));
+    }
+
+    private void geocode(Client client) {
+        var point = gazetteer.lookup(client.getAddress());
+        client.setLatitude(point.map(p -> p.latitude()).orElse(null));
+        client.setLongitude(point.map(p -> p.longitude()).orElse(null));
+    }
+
+    private static Map<String, Object> eventPayload(Client client) {
+        return Map.of("createdAt", client.getCreatedAt().toString());
     }
 }
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -17,6 +20,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 @Table(name = "clients")
 @EntityListeners(AuditingEntityListener.class)
 public class Client implements Serializable {
@@ -37,10 +42,19 @@ public class Client implements Serializable {
     private String email;
     private String address;
 
+    // Geocoded from address on save (see Gazetteer)
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    // Optimistic lock; exposed as the ETag and checked against If-Match on PUT
+    @Version
+    private Long version;
 }
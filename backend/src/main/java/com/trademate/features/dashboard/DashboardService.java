@@ -0,0 +1,64 @@
+package com.trademate.features.dashboard;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.client.ClientRepository;
+import com.trademate.features.invoice.InvoiceService;
+import com.trademate.features.job.JobRepository;
+import com.trademate.features.job.RecurrenceService;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import com.trademate.shared.cache.UserGenerationKeyGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    public static final String CACHE_NAME = "dashboardStats";
+
+    private final UserRepository userRepository;
+    private final JobRepository jobRepository;
+    private final ClientRepository clientRepository;
+    private final RecurrenceService recurrenceService;
+    private final InvoiceService invoiceService;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = CACHE_NAME, keyGenerator = UserGenerationKeyGenerator.NAME, sync = true)
+    public Map<String, Object> getStats(String username) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var userId = user.getId();
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime dayStart = today.atStartOfDay();
+        LocalDateTime dayEnd = today.plusDays(1).atStartOfDay();
+        List<Job> todayJobs = new ArrayList<>(jobRepository.findJobsForDateRange(userId, dayStart, dayEnd));
+        todayJobs.addAll(recurrenceService.occurrences(userId, dayStart, dayEnd));
+
+        // Archiving moves old completed jobs out of the jobs table; the totals still count them
+        long archivedJobs = jobRepository.countArchivedByUserId(userId);
+        long totalJobs = jobRepository.countByUserId(userId) + archivedJobs;
+        long pendingJobs = jobRepository.countByUserIdAndStatus(userId, JobStatus.PENDING);
+        long completedJobs = jobRepository.countByUserIdAndStatus(userId, JobStatus.COMPLETED) + archivedJobs;
+        long totalClients = clientRepository.countByUserId(userId);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalJobs", totalJobs);
+        stats.put("pendingJobs", pendingJobs);
+        stats.put("completedJobs", completedJobs);
+        stats.put("todayJobs", todayJobs);
+        stats.put("totalClients", totalClients);
+        stats.putAll(invoiceService.revenueStats(user));
+
+        return stats;
+    }
+}
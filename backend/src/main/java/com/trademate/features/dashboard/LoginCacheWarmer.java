@@ -0,0 +1,98 @@
+package com.trademate.features.dashboard;
+
+import com.trademate.features.auth.UserLoggedInEvent;
+import com.trademate.features.job.JobCalendarService;
+import com.trademate.shared.cache.CoalescingCache;
+import com.trademate.shared.cache.UserCacheGenerations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads what the first screen after login needs (dashboard stats and the
+ * current calendar week) on a virtual thread while the client is still
+ * handling the token. At most max-concurrent warm-ups run at once; logins
+ * beyond that are not warmed, so a login storm adds no database load.
+ *
+ * Whether prefetched entries were read before being evicted or expiring is
+ * reported by the cache as cache.prefetch.outcome.
+ */
+@Slf4j
+@Component
+public class LoginCacheWarmer {
+
+    private final DashboardService dashboardService;
+    private final JobCalendarService jobCalendarService;
+    private final CacheManager cacheManager;
+    private final UserCacheGenerations userCacheGenerations;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final Counter skipped;
+
+    public LoginCacheWarmer(DashboardService dashboardService, JobCalendarService jobCalendarService,
+            CacheManager cacheManager, UserCacheGenerations userCacheGenerations, MeterRegistry meterRegistry,
+            @Value("${app.cache.prewarm.enabled:true}") boolean enabled,
+            @Value("${app.cache.prewarm.max-concurrent:4}") int maxConcurrent) {
+        this.dashboardService = dashboardService;
+        this.jobCalendarService = jobCalendarService;
+        this.cacheManager = cacheManager;
+        this.userCacheGenerations = userCacheGenerations;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrent);
+        this.skipped = Counter.builder("cache.prewarm.skipped")
+                .description("Logins not warmed because max-concurrent warm-ups were running")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onLogin(UserLoggedInEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            skipped.increment();
+            return;
+        }
+        Thread.ofVirtual().name("cache-prewarm").start(() -> {
+            try {
+                warm(event.username());
+            } catch (RuntimeException e) {
+                log.warn("Cache warm-up for {} failed", event.username(), e);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void warm(String username) {
+        // The key UserGenerationKeyGenerator builds for getStats(username)
+        warm(DashboardService.CACHE_NAME, userCacheGenerations.key(username, SimpleKey.EMPTY),
+                () -> dashboardService.getStats(username));
+        LocalDate today = LocalDate.now();
+        warm(JobCalendarService.CACHE_NAME, JobCalendarService.cacheKey(username, JobCalendarService.weekStart(
+                today.atStartOfDay())), () -> jobCalendarService.prefetchWeek(username, today));
+    }
+
+    private void warm(String cacheName, Object key, Runnable load) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || cache.get(key) != null) {
+            return;
+        }
+        load.run();
+        if (cache instanceof CoalescingCache coalescing) {
+            coalescing.markPrefetched(key);
+        }
+        meterRegistry.counter("cache.prewarm.loads", "cache", cacheName).increment();
+    }
+}
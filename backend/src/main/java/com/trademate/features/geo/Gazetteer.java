@@ -0,0 +1,84 @@
+package com.trademate.features.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline geocoder backed by a CSV of postcode,locality,state,latitude,longitude
+ * rows loaded at startup. Addresses resolve to the centroid of their postcode,
+ * or of a comma-separated part naming a known locality. The bundled file only
+ * covers major Australian centres; point app.geo.gazetteer-location at a full
+ * locality list for production use.
+ */
+@Slf4j
+@Component
+public class Gazetteer {
+
+    private static final Pattern POSTCODE = Pattern.compile("\\b(\\d{4})\\b\\s*$");
+    private static final Pattern STATE_AND_POSTCODE =
+            Pattern.compile("\\s+(NSW|VIC|QLD|SA|WA|TAS|NT|ACT)?\\s*(\\d{4})?\\s*$", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, GeoPoint> byPostcode = new HashMap<>();
+    private final Map<String, GeoPoint> byLocality = new HashMap<>();
+
+    public Gazetteer(@Value("${app.geo.gazetteer-location:classpath:geo/gazetteer.csv}") Resource location) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split(",");
+                if (cols.length < 5) {
+                    continue;
+                }
+                GeoPoint point = new GeoPoint(Double.parseDouble(cols[3]), Double.parseDouble(cols[4]));
+                byPostcode.putIfAbsent(cols[0].trim(), point);
+                byLocality.putIfAbsent(normalize(cols[1]), point);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load gazetteer from " + location, e);
+        }
+        log.info("Loaded gazetteer with {} postcodes and {} localities", byPostcode.size(), byLocality.size());
+    }
+
+    public Optional<GeoPoint> lookup(String address) {
+        if (address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = address.trim();
+        Matcher postcode = POSTCODE.matcher(trimmed);
+        if (postcode.find()) {
+            GeoPoint point = byPostcode.get(postcode.group(1));
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        String[] parts = trimmed.split(",");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            String locality = STATE_AND_POSTCODE.matcher(parts[i].trim()).replaceFirst("");
+            GeoPoint point = byLocality.get(normalize(locality));
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String normalize(String locality) {
+        return locality.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,76 @@
+package com.trademate.features.geo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geocodes jobs and clients saved before coordinates were stored, or whose
+ * address was not in the gazetteer at the time, once per startup. Runs on a
+ * virtual thread so startup is not held up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeoBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Gazetteer gazetteer;
+
+    @Value("${app.geo.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.geo.backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("geo-backfill").start(() -> {
+                backfill("jobs");
+                backfill("clients");
+            });
+        }
+    }
+
+    private void backfill(String table) {
+        String select = "SELECT id, address FROM " + table
+                + " WHERE latitude IS NULL AND address IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table + " SET latitude = ?, longitude = ? WHERE id = ?";
+        long lastId = 0;
+        int geocoded = 0;
+        try {
+            while (true) {
+                List<Object[]> updates = new ArrayList<>();
+                List<Long> ids = new ArrayList<>();
+                jdbcTemplate.query(select, rs -> {
+                    long id = rs.getLong("id");
+                    ids.add(id);
+                    gazetteer.lookup(rs.getString("address")).ifPresent(point ->
+                            updates.add(new Object[] {point.latitude(), point.longitude(), id}));
+                }, lastId, batchSize);
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(update, updates);
+                    geocoded += updates.size();
+                }
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                lastId = ids.get(ids.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Geocoding backfill of {} stopped after {} rows", table, geocoded, e);
+            return;
+        }
+        if (geocoded > 0) {
+            log.info("Geocoded {} existing {}", geocoded, table);
+        }
+    }
+}
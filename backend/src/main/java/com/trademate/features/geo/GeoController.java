@@ -0,0 +1,29 @@
+package com.trademate.features.geo;
+
+import com.trademate.features.geo.dto.NearbyResult;
+import com.trademate.features.job.model.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/geo")
+@RequiredArgsConstructor
+public class GeoController {
+
+    private final GeoService geoService;
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyResult>> getNearby(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radius,
+            @RequestParam(required = false) JobStatus status,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(geoService.findNearby(userDetails.getUsername(), lat, lng, radius, status, limit));
+    }
+}
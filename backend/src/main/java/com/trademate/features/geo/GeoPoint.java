@@ -0,0 +1,21 @@
+package com.trademate.features.geo;
+
+import java.io.Serializable;
+
+public record GeoPoint(double latitude, double longitude) implements Serializable {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public double distanceKm(GeoPoint other) {
+        return haversineKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.trademate.features.geo;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.geo.dto.NearbyResult;
+import com.trademate.features.job.model.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Jobs and clients near a point. Candidates come from a bounding box over the
+ * (user_id, latitude, longitude) indexes, so only rows in the box are read;
+ * exact haversine distance then filters the box corners and orders results.
+ */
+@Service
+@RequiredArgsConstructor
+public class GeoService {
+
+    private static final double MAX_RADIUS_KM = 50;
+    private static final int MAX_RESULTS = 200;
+    private static final double KM_PER_DEGREE = Math.PI * GeoPoint.EARTH_RADIUS_KM / 180;
+    private static final Set<JobStatus> OPEN_STATUSES = Set.of(JobStatus.PENDING, JobStatus.IN_PROGRESS);
+
+    private static final String NEARBY_JOBS = """
+            SELECT id, title, address, latitude, longitude, status, scheduled_date
+            FROM jobs
+            WHERE user_id = :userId
+              AND latitude BETWEEN :minLat AND :maxLat
+              AND longitude BETWEEN :minLng AND :maxLng
+              AND status IN (:statuses)
+              AND recurrence_rule IS NULL
+            """;
+    private static final String NEARBY_CLIENTS = """
+            SELECT id, name, address, latitude, longitude
+            FROM clients
+            WHERE user_id = :userId
+              AND latitude BETWEEN :minLat AND :maxLat
+              AND longitude BETWEEN :minLng AND :maxLng
+            """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserRepository userRepository;
+
+    /**
+     * @param status job status to include; null means open jobs (PENDING and
+     *               IN_PROGRESS). Clients are always included.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyResult> findNearby(String username, double latitude, double longitude, double radiusKm,
+            JobStatus status, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        var user = userRepository.findByUsername(username).orElseThrow();
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLatitude = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        double lngDelta = Math.min(180, radiusKm / (KM_PER_DEGREE * cosLatitude));
+        var params = new MapSqlParameterSource()
+                .addValue("userId", user.getId())
+                .addValue("minLat", latitude - latDelta)
+                .addValue("maxLat", latitude + latDelta)
+                .addValue("minLng", longitude - lngDelta)
+                .addValue("maxLng", longitude + lngDelta)
+                .addValue("statuses", (status == null ? OPEN_STATUSES : Set.of(status)).stream()
+                        .map(Enum::name).toList());
+
+        List<NearbyResult> results = new ArrayList<>();
+        namedJdbcTemplate.query(NEARBY_JOBS, params, rs -> {
+            double distance = GeoPoint.haversineKm(latitude, longitude,
+                    rs.getDouble("latitude"), rs.getDouble("longitude"));
+            if (distance <= radiusKm) {
+                Timestamp scheduled = rs.getTimestamp("scheduled_date");
+                results.add(NearbyResult.builder()
+                        .type(NearbyResult.Type.JOB)
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("title"))
+                        .address(rs.getString("address"))
+                        .latitude(rs.getDouble("latitude"))
+                        .longitude(rs.getDouble("longitude"))
+                        .distanceKm(distance)
+                        .status(JobStatus.valueOf(rs.getString("status")))
+                        .scheduledDate(scheduled == null ? null : scheduled.toLocalDateTime())
+                        .build());
+            }
+        });
+        namedJdbcTemplate.query(NEARBY_CLIENTS, params, rs -> {
+            double distance = GeoPoint.haversineKm(latitude, longitude,
+                    rs.getDouble("latitude"), rs.getDouble("longitude"));
+            if (distance <= radiusKm) {
+                results.add(NearbyResult.builder()
+                        .type(NearbyResult.Type.CLIENT)
+                        .id(rs.getLong("id"))
+                        .name(rs.getString("name"))
+                        .address(rs.getString("address"))
+                        .latitude(rs.getDouble("latitude"))
+                        .longitude(rs.getDouble("longitude"))
+                        .distanceKm(distance)
+                        .build());
+            }
+        });
+        results.sort(Comparator.comparingDouble(NearbyResult::getDistanceKm));
+        int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return results.size() > size ? new ArrayList<>(results.subList(0, size)) : results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.trademate.features.geo.dto;
+
+import com.trademate.features.job.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyResult {
+
+    public enum Type {
+        JOB,
+        CLIENT
+    }
+
+    private Type type;
+    private Long id;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+    private JobStatus status; // jobs only
+    private LocalDateTime scheduledDate; // jobs only
+}
@@ -0,0 +1,62 @@
+package com.trademate.features.invoice;
+
+import com.trademate.features.invoice.model.Invoice;
+import com.trademate.shared.web.ZeroCopyFileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/invoices")
+@RequiredArgsConstructor
+public class InvoiceController {
+
+    private final InvoiceService invoiceService;
+    private final InvoicePdfService invoicePdfService;
+
+    @GetMapping
+    public ResponseEntity<List<Invoice>> getInvoices(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Long jobId) {
+        return ResponseEntity.ok(invoiceService.getInvoices(userDetails.getUsername(), jobId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Invoice> getInvoice(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(invoiceService.getInvoice(userDetails.getUsername(), id));
+    }
+
+    @GetMapping("/{id}/pdf")
+    public void getInvoicePdf(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var pdf = invoicePdfService.getPdf(userDetails.getUsername(), id);
+        ZeroCopyFileSender.send(request, response, pdf.file(), MediaType.APPLICATION_PDF_VALUE, pdf.filename());
+    }
+
+    @PostMapping
+    public ResponseEntity<Invoice> createInvoice(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody Invoice invoice) {
+        return ResponseEntity.ok(invoiceService.createInvoice(userDetails.getUsername(), invoice));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Invoice> updateInvoice(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id, @RequestBody Invoice invoice) {
+        return ResponseEntity.ok(invoiceService.updateInvoice(userDetails.getUsername(), id, invoice));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteInvoice(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id) {
+        invoiceService.deleteInvoice(userDetails.getUsername(), id);
+        return ResponseEntity.noContent().build();
+    }
+}
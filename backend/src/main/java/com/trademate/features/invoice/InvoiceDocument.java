@@ -0,0 +1,90 @@
+package com.trademate.features.invoice;
+
+import com.trademate.features.auth.model.User;
+import com.trademate.features.invoice.model.Invoice;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Everything printed on an invoice PDF, copied out of the entities so it can
+ * be rendered off the request thread. The content hash names the cached file.
+ */
+record InvoiceDocument(
+        String title,
+        String number,
+        String status,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        String businessName,
+        String businessEmail,
+        String clientName,
+        String clientAddress,
+        String clientEmail,
+        List<Line> lines,
+        BigDecimal subtotal,
+        BigDecimal taxRate,
+        BigDecimal taxTotal,
+        BigDecimal total,
+        String notes) {
+
+    record Line(String description, BigDecimal quantity, BigDecimal unitPrice, BigDecimal amount) {
+    }
+
+    static InvoiceDocument of(Invoice invoice, User owner) {
+        var client = invoice.getClient();
+        return new InvoiceDocument(
+                invoice.getType().name(),
+                invoice.getNumber(),
+                invoice.getStatus().name(),
+                invoice.getIssueDate(),
+                invoice.getDueDate(),
+                owner.getUsername(),
+                owner.getEmail(),
+                client == null ? null : client.getName(),
+                client == null ? null : client.getAddress(),
+                client == null ? null : client.getEmail(),
+                invoice.getLineItems().stream()
+                        .map(item -> new Line(item.getDescription(), item.getQuantity(), item.getUnitPrice(),
+                                item.getAmount()))
+                        .toList(),
+                invoice.getSubtotal(),
+                invoice.getTaxRate(),
+                invoice.getTaxTotal(),
+                invoice.getTotal(),
+                invoice.getNotes());
+    }
+
+    /** SHA-256 of the rendered fields and the renderer version, as hex. */
+    String contentHash(String rendererVersion) {
+        StringBuilder canonical = new StringBuilder(rendererVersion);
+        for (Object field : new Object[] {title, number, status, issueDate, dueDate, businessName, businessEmail,
+                clientName, clientAddress, clientEmail, subtotal, taxRate, taxTotal, total, notes}) {
+            append(canonical, field);
+        }
+        for (Line line : lines) {
+            append(canonical, line.description());
+            append(canonical, line.quantity());
+            append(canonical, line.unitPrice());
+            append(canonical, line.amount());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder canonical, Object value) {
+        // Length-prefixed so field boundaries cannot be forged by the content
+        String text = value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString()
+                : value.toString();
+        canonical.append(value == null ? -1 : text.length()).append(':').append(text);
+    }
+}
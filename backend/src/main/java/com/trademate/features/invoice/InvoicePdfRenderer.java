@@ -0,0 +1,214 @@
+package com.trademate.features.invoice;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lays out an {@link InvoiceDocument} on A4 pages with the built-in Helvetica
+ * fonts, so no font files are loaded or embedded. Bump {@link #VERSION} when
+ * the layout changes so cached PDFs are not reused.
+ */
+@Component
+class InvoicePdfRenderer {
+
+    static final String VERSION = "1";
+
+    private static final float MARGIN = 50;
+    private static final float LINE = 14;
+    private static final float BODY_SIZE = 10;
+    private static final float TITLE_SIZE = 18;
+    private static final float QTY_RIGHT = 380;
+    private static final float PRICE_RIGHT = 465;
+    private static final float AMOUNT_RIGHT = PDRectangle.A4.getWidth() - MARGIN;
+    private static final float DESCRIPTION_WIDTH = 260;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ROOT);
+
+    private final String currencySymbol;
+
+    InvoicePdfRenderer(@Value("${app.invoices.currency-symbol:$}") String currencySymbol) {
+        this.currencySymbol = currencySymbol;
+    }
+
+    void render(InvoiceDocument document, OutputStream out) throws IOException {
+        try (PDDocument pdf = new PDDocument()) {
+            new Writer(pdf).write(document);
+            pdf.save(out);
+        }
+    }
+
+    /** Tracks the current page and cursor while writing one document. */
+    private final class Writer {
+
+        private final PDDocument pdf;
+        private final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        private final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        private PDPageContentStream content;
+        private float y;
+
+        Writer(PDDocument pdf) {
+            this.pdf = pdf;
+        }
+
+        void write(InvoiceDocument doc) throws IOException {
+            try {
+                newPage();
+                text(bold, TITLE_SIZE, MARGIN, doc.title() + " " + doc.number());
+                y -= LINE * 2;
+                text(regular, BODY_SIZE, MARGIN, "Status: " + doc.status());
+                right(regular, "Issued " + DATE.format(doc.issueDate()), AMOUNT_RIGHT);
+                if (doc.dueDate() != null) {
+                    y -= LINE;
+                    right(regular, "Due " + DATE.format(doc.dueDate()), AMOUNT_RIGHT);
+                }
+                y -= LINE * 2;
+                block("From", doc.businessName(), doc.businessEmail(), null);
+                block("Bill to", doc.clientName(), doc.clientAddress(), doc.clientEmail());
+
+                y -= LINE;
+                header();
+                for (InvoiceDocument.Line line : doc.lines()) {
+                    List<String> wrapped = wrap(line.description(), DESCRIPTION_WIDTH);
+                    ensureSpace(wrapped.size() * LINE);
+                    right(regular, line.quantity().stripTrailingZeros().toPlainString(), QTY_RIGHT);
+                    right(regular, money(line.unitPrice()), PRICE_RIGHT);
+                    right(regular, money(line.amount()), AMOUNT_RIGHT);
+                    for (String part : wrapped) {
+                        text(regular, BODY_SIZE, MARGIN, part);
+                        y -= LINE;
+                    }
+                }
+
+                ensureSpace(LINE * 4);
+                y -= LINE;
+                total(regular, "Subtotal", doc.subtotal());
+                String rate = doc.taxRate().movePointRight(2).setScale(2, RoundingMode.HALF_UP)
+                        .stripTrailingZeros().toPlainString();
+                total(regular, "Tax (" + rate + "%)", doc.taxTotal());
+                total(bold, "Total", doc.total());
+
+                if (doc.notes() != null && !doc.notes().isBlank()) {
+                    y -= LINE;
+                    for (String paragraph : doc.notes().split("\\R")) {
+                        for (String part : wrap(paragraph, AMOUNT_RIGHT - MARGIN)) {
+                            ensureSpace(LINE);
+                            text(regular, BODY_SIZE, MARGIN, part);
+                            y -= LINE;
+                        }
+                    }
+                }
+            } finally {
+                if (content != null) {
+                    content.close();
+                }
+            }
+        }
+
+        private void block(String label, String first, String second, String third) throws IOException {
+            text(bold, BODY_SIZE, MARGIN, label);
+            y -= LINE;
+            for (String value : new String[] {first, second, third}) {
+                if (value != null && !value.isBlank()) {
+                    text(regular, BODY_SIZE, MARGIN, value);
+                    y -= LINE;
+                }
+            }
+            y -= LINE;
+        }
+
+        private void header() throws IOException {
+            ensureSpace(LINE * 2);
+            text(bold, BODY_SIZE, MARGIN, "Description");
+            right(bold, "Qty", QTY_RIGHT);
+            right(bold, "Unit price", PRICE_RIGHT);
+            right(bold, "Amount", AMOUNT_RIGHT);
+            y -= LINE * 1.5f;
+        }
+
+        private void total(PDType1Font font, String label, BigDecimal amount) throws IOException {
+            right(font, label, PRICE_RIGHT);
+            right(font, money(amount), AMOUNT_RIGHT);
+            y -= LINE;
+        }
+
+        private void ensureSpace(float height) throws IOException {
+            if (y - height < MARGIN) {
+                newPage();
+                header();
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(PDRectangle.A4);
+            pdf.addPage(page);
+            content = new PDPageContentStream(pdf, page);
+            y = page.getMediaBox().getHeight() - MARGIN;
+        }
+
+        private void text(PDType1Font font, float size, float x, String value) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(x, y);
+            content.showText(sanitize(value));
+            content.endText();
+        }
+
+        private void right(PDType1Font font, String value, float rightEdge) throws IOException {
+            text(font, BODY_SIZE, rightEdge - width(font, sanitize(value)), value);
+        }
+
+        private float width(PDType1Font font, String value) throws IOException {
+            return font.getStringWidth(value) / 1000 * BODY_SIZE;
+        }
+
+        private List<String> wrap(String value, float maxWidth) throws IOException {
+            List<String> lines = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String word : sanitize(value).split(" +")) {
+                String candidate = current.isEmpty() ? word : current + " " + word;
+                if (!current.isEmpty() && width(regular, candidate) > maxWidth) {
+                    lines.add(current.toString());
+                    current.setLength(0);
+                    current.append(word);
+                } else {
+                    current.setLength(0);
+                    current.append(candidate);
+                }
+            }
+            lines.add(current.toString());
+            return lines;
+        }
+    }
+
+    private String money(BigDecimal amount) {
+        return currencySymbol + String.format(Locale.ROOT, "%,.2f", amount);
+    }
+
+    /** The standard fonts only cover WinAnsi; replace anything else and control characters. */
+    private static String sanitize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        value.codePoints().forEach(cp -> out.append(cp >= 0x20 && cp < 0x7F || cp >= 0xA0 && cp <= 0xFF
+                ? (char) cp : cp == '\t' ? ' ' : '?'));
+        return out.toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.trademate.features.invoice;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.shared.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Produces invoice PDFs.
+ *
+ * Rendering is CPU-bound, so it runs on a small fixed pool with a bounded
+ * queue instead of the request's virtual thread; when the queue is full the
+ * request fails fast with 503. Output is cached on disk under the SHA-256 of
+ * the printed content, so unchanged invoices are served straight from the
+ * file and concurrent requests for the same content share one render.
+ */
+@Slf4j
+@Service
+public class InvoicePdfService {
+
+    public record RenderedPdf(Path file, String filename) {
+    }
+
+    private final InvoiceService invoiceService;
+    private final UserRepository userRepository;
+    private final InvoicePdfRenderer renderer;
+    private final Path cacheDir;
+    private final Duration renderTimeout;
+    private final Duration cacheMaxAge;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter rejected;
+    private final Timer renderTime;
+
+    public InvoicePdfService(InvoiceService invoiceService, UserRepository userRepository,
+            InvoicePdfRenderer renderer, MeterRegistry meterRegistry,
+            @Value("${app.invoices.pdf.render-threads:2}") int renderThreads,
+            @Value("${app.invoices.pdf.queue-capacity:32}") int queueCapacity,
+            @Value("${app.invoices.pdf.render-timeout:10s}") Duration renderTimeout,
+            @Value("${app.invoices.pdf.cache-dir:${java.io.tmpdir}/trademate/invoices}") Path cacheDir,
+            @Value("${app.invoices.pdf.cache-max-age:30d}") Duration cacheMaxAge) {
+        this.invoiceService = invoiceService;
+        this.userRepository = userRepository;
+        this.renderer = renderer;
+        this.cacheDir = cacheDir;
+        this.renderTimeout = renderTimeout;
+        this.cacheMaxAge = cacheMaxAge;
+        this.executor = new ThreadPoolExecutor(renderThreads, renderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("invoice-pdf-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cacheHits = Counter.builder("invoice.pdf.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("invoice.pdf.cache").tag("result", "miss").register(meterRegistry);
+        this.rejected = Counter.builder("invoice.pdf.rejected")
+                .description("Renders refused because the render queue was full")
+                .register(meterRegistry);
+        this.renderTime = Timer.builder("invoice.pdf.render").register(meterRegistry);
+        Gauge.builder("invoice.pdf.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public RenderedPdf getPdf(String username, Long invoiceId) {
+        var invoice = invoiceService.getInvoice(username, invoiceId);
+        var owner = userRepository.findByUsername(username).orElseThrow();
+        InvoiceDocument document = InvoiceDocument.of(invoice, owner);
+        String hash = document.contentHash(InvoicePdfRenderer.VERSION);
+        Path file = cacheDir.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+        String filename = invoice.getNumber() + ".pdf";
+
+        if (Files.exists(file)) {
+            cacheHits.increment();
+            touch(file);
+            return new RenderedPdf(file, filename);
+        }
+        cacheMisses.increment();
+        return new RenderedPdf(await(hash, render(hash, document, file)), filename);
+    }
+
+    private CompletableFuture<Path> render(String hash, InvoiceDocument document, Path file) {
+        CompletableFuture<Path> future = submit(hash, document, file);
+        // Registered outside computeIfAbsent: an already-finished future would run this inline
+        future.whenComplete((path, error) -> inFlight.remove(hash, future));
+        return future;
+    }
+
+    private CompletableFuture<Path> submit(String hash, InvoiceDocument document, Path file) {
+        try {
+            return inFlight.computeIfAbsent(hash,
+                    key -> CompletableFuture.supplyAsync(() -> write(document, file), executor));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many PDFs are being generated, try again shortly",
+                    Duration.ofSeconds(5));
+        }
+    }
+
+    private Path await(String hash, CompletableFuture<Path> future) {
+        try {
+            // A timed-out render keeps running and still lands in the cache
+            return future.get(renderTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("PDF generation is taking longer than usual, try again shortly",
+                    Duration.ofSeconds(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for PDF " + hash, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render PDF " + hash, e.getCause());
+        }
+    }
+
+    private Path write(InvoiceDocument document, Path file) {
+        long started = System.nanoTime();
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                renderer.render(document, out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException(e);
+        } finally {
+            renderTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Drops cached PDFs that have not been served within cache-max-age. */
+    @Scheduled(cron = "${app.invoices.pdf.cache-cleanup-cron:0 30 3 * * *}")
+    public void cleanCache() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(cacheMaxAge));
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(cacheDir, 2)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && deleteQuietly(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean invoice PDF cache {}", cacheDir, e);
+        }
+        if (removed > 0) {
+            log.info("Removed {} cached invoice PDFs older than {}", removed, cacheMaxAge);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // Only affects cache expiry
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        if (file == null) {
+            return false;
+        }
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
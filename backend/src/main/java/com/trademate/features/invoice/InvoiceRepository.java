@@ -0,0 +1,45 @@
+package com.trademate.features.invoice;
+
+import com.trademate.features.invoice.model.Invoice;
+import com.trademate.features.invoice.model.InvoiceStatus;
+import com.trademate.features.invoice.model.InvoiceType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+
+    @EntityGraph(attributePaths = "lineItems")
+    List<Invoice> findByUserIdOrderByIssueDateDescIdDesc(UUID userId);
+
+    @EntityGraph(attributePaths = "lineItems")
+    List<Invoice> findByUserIdAndJobIdOrderByIssueDateDescIdDesc(UUID userId, Long jobId);
+
+    @EntityGraph(attributePaths = "lineItems")
+    Optional<Invoice> findByIdAndUserId(Long id, UUID userId);
+
+    @Query("SELECT COALESCE(MAX(i.sequenceNumber), 0) FROM Invoice i WHERE i.user.id = :userId AND i.type = :type")
+    int findMaxSequenceNumber(UUID userId, InvoiceType type);
+
+    @Query("SELECT COALESCE(SUM(i.total), 0) FROM Invoice i "
+            + "WHERE i.user.id = :userId AND i.type = com.trademate.features.invoice.model.InvoiceType.INVOICE "
+            + "AND i.status = :status")
+    BigDecimal sumInvoiceTotals(UUID userId, InvoiceStatus status);
+
+    @Query("SELECT COUNT(DISTINCT i.jobId) FROM Invoice i "
+            + "WHERE i.user.id = :userId AND i.type = com.trademate.features.invoice.model.InvoiceType.INVOICE "
+            + "AND i.status = com.trademate.features.invoice.model.InvoiceStatus.PAID AND i.jobId IS NOT NULL")
+    long countPaidJobs(UUID userId);
+
+    @Query("SELECT COALESCE(SUM(i.total), 0) FROM Invoice i "
+            + "WHERE i.user.id = :userId AND i.type = com.trademate.features.invoice.model.InvoiceType.INVOICE "
+            + "AND i.status = com.trademate.features.invoice.model.InvoiceStatus.PAID AND i.jobId IS NOT NULL")
+    BigDecimal sumPaidJobTotals(UUID userId);
+}
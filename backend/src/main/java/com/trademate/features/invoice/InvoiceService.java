@@ -0,0 +1,221 @@
+package com.trademate.features.invoice;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.ClientRepository;
+import com.trademate.features.invoice.model.Invoice;
+import com.trademate.features.invoice.model.InvoiceLineItem;
+import com.trademate.features.invoice.model.InvoiceStatus;
+import com.trademate.features.invoice.model.InvoiceType;
+import com.trademate.features.job.JobRepository;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
+import com.trademate.shared.exception.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class InvoiceService {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final InvoiceRepository invoiceRepository;
+    private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
+    private final JobRepository jobRepository;
+    private final OutboxWriter outboxWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final BigDecimal defaultTaxRate;
+
+    public InvoiceService(InvoiceRepository invoiceRepository, UserRepository userRepository,
+            ClientRepository clientRepository, JobRepository jobRepository, OutboxWriter outboxWriter,
+            JdbcTemplate jdbcTemplate, @Value("${app.invoices.default-tax-rate:0.10}") BigDecimal defaultTaxRate) {
+        this.invoiceRepository = invoiceRepository;
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.jobRepository = jobRepository;
+        this.outboxWriter = outboxWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultTaxRate = defaultTaxRate;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Invoice> getInvoices(String username, Long jobId) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return jobId == null
+                ? invoiceRepository.findByUserIdOrderByIssueDateDescIdDesc(user.getId())
+                : invoiceRepository.findByUserIdAndJobIdOrderByIssueDateDescIdDesc(user.getId(), jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public Invoice getInvoice(String username, Long id) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return invoiceRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with ID: " + id));
+    }
+
+    @Transactional
+    public Invoice createInvoice(String username, Invoice request) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var type = request.getType() == null ? InvoiceType.INVOICE : request.getType();
+        var invoice = Invoice.builder()
+                .user(user)
+                .type(type)
+                .status(request.getStatus() == null ? InvoiceStatus.DRAFT : request.getStatus())
+                .issueDate(request.getIssueDate() == null ? LocalDate.now() : request.getIssueDate())
+                .dueDate(request.getDueDate())
+                .taxRate(request.getTaxRate() == null ? defaultTaxRate : request.getTaxRate())
+                .notes(request.getNotes())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        validateStatus(invoice);
+        linkClientAndJob(invoice, request, user);
+        replaceLineItems(invoice, request.getLineItems());
+
+        // Serialise numbering per user and type; the unique constraint backs this up
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> {
+        }, user.getId() + ":" + type);
+        int sequence = invoiceRepository.findMaxSequenceNumber(user.getId(), type) + 1;
+        invoice.setSequenceNumber(sequence);
+        invoice.setNumber(String.format("%s-%05d", type == InvoiceType.QUOTE ? "Q" : "INV", sequence));
+
+        var saved = invoiceRepository.save(invoice);
+        outboxWriter.append(DomainEventType.INVOICE_CREATED, saved.getId(), user, eventPayload(saved));
+        return saved;
+    }
+
+    @Transactional
+    public Invoice updateInvoice(String username, Long id, Invoice request) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var invoice = invoiceRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with ID: " + id));
+        if (request.getStatus() != null) {
+            invoice.setStatus(request.getStatus());
+        }
+        invoice.setIssueDate(request.getIssueDate() == null ? invoice.getIssueDate() : request.getIssueDate());
+        invoice.setDueDate(request.getDueDate());
+        invoice.setTaxRate(request.getTaxRate() == null ? invoice.getTaxRate() : request.getTaxRate());
+        invoice.setNotes(request.getNotes());
+        invoice.setUpdatedAt(LocalDateTime.now());
+        validateStatus(invoice);
+        linkClientAndJob(invoice, request, user);
+        replaceLineItems(invoice, request.getLineItems());
+        var saved = invoiceRepository.save(invoice);
+        outboxWriter.append(DomainEventType.INVOICE_UPDATED, saved.getId(), user, eventPayload(saved));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteInvoice(String username, Long id) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var invoice = invoiceRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with ID: " + id));
+        invoiceRepository.delete(invoice);
+        outboxWriter.append(DomainEventType.INVOICE_DELETED, id, user, eventPayload(invoice));
+    }
+
+    /** Revenue figures for the dashboard, from invoices (quotes are excluded). */
+    public Map<String, Object> revenueStats(User user) {
+        BigDecimal paid = invoiceRepository.sumInvoiceTotals(user.getId(), InvoiceStatus.PAID);
+        BigDecimal outstanding = invoiceRepository.sumInvoiceTotals(user.getId(), InvoiceStatus.SENT);
+        long paidJobs = invoiceRepository.countPaidJobs(user.getId());
+        BigDecimal perJob = paidJobs == 0
+                ? BigDecimal.ZERO.setScale(MONEY_SCALE)
+                : invoiceRepository.sumPaidJobTotals(user.getId())
+                        .divide(BigDecimal.valueOf(paidJobs), MONEY_SCALE, RoundingMode.HALF_UP);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalRevenue", paid.setScale(MONEY_SCALE, RoundingMode.HALF_UP));
+        stats.put("outstandingRevenue", outstanding.setScale(MONEY_SCALE, RoundingMode.HALF_UP));
+        stats.put("revenuePerJob", perJob);
+        return stats;
+    }
+
+    /**
+     * Line amounts are quantity x unit price rounded half-up to cents; tax is
+     * applied once to the subtotal and rounded the same way.
+     */
+    static void computeTotals(Invoice invoice) {
+        BigDecimal subtotal = BigDecimal.ZERO.setScale(MONEY_SCALE);
+        for (InvoiceLineItem item : invoice.getLineItems()) {
+            BigDecimal amount = item.getQuantity().multiply(item.getUnitPrice());
+            item.setAmount(amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP));
+            subtotal = subtotal.add(item.getAmount());
+        }
+        BigDecimal tax = subtotal.multiply(invoice.getTaxRate()).setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+        invoice.setSubtotal(subtotal);
+        invoice.setTaxTotal(tax);
+        invoice.setTotal(subtotal.add(tax));
+    }
+
+    private void linkClientAndJob(Invoice invoice, Invoice request, User user) {
+        if (request.getClient() != null && request.getClient().getId() != null) {
+            invoice.setClient(clientRepository.findByIdAndUserId(request.getClient().getId(), user.getId())
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Client not found with ID: " + request.getClient().getId())));
+        } else {
+            invoice.setClient(null);
+        }
+        if (request.getJobId() != null && !Objects.equals(request.getJobId(), invoice.getJobId())) {
+            var job = jobRepository.findByIdAndUserId(request.getJobId(), user.getId())
+                    .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + request.getJobId()));
+            if (invoice.getClient() == null) {
+                invoice.setClient(job.getClient());
+            }
+        }
+        invoice.setJobId(request.getJobId());
+    }
+
+    private static void replaceLineItems(Invoice invoice, List<InvoiceLineItem> items) {
+        invoice.getLineItems().clear();
+        if (items != null) {
+            int position = 0;
+            for (InvoiceLineItem item : items) {
+                if (item.getDescription() == null || item.getDescription().isBlank()) {
+                    throw new IllegalArgumentException("Line item description is required");
+                }
+                if (item.getQuantity() == null || item.getUnitPrice() == null || item.getQuantity().signum() <= 0) {
+                    throw new IllegalArgumentException("Line items need a positive quantity and a unit price");
+                }
+                invoice.getLineItems().add(InvoiceLineItem.builder()
+                        .invoice(invoice)
+                        .position(position++)
+                        .description(item.getDescription())
+                        .quantity(item.getQuantity())
+                        .unitPrice(item.getUnitPrice())
+                        .build());
+            }
+        }
+        if (invoice.getTaxRate().signum() < 0 || invoice.getTaxRate().compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Tax rate must be between 0 and 1");
+        }
+        computeTotals(invoice);
+    }
+
+    private static void validateStatus(Invoice invoice) {
+        var status = invoice.getStatus();
+        boolean quoteOnly = status == InvoiceStatus.ACCEPTED || status == InvoiceStatus.DECLINED;
+        if (invoice.getType() == InvoiceType.QUOTE ? status == InvoiceStatus.PAID : quoteOnly) {
+            throw new IllegalArgumentException("Status " + status + " does not apply to a " + invoice.getType());
+        }
+    }
+
+    private static Map<String, Object> eventPayload(Invoice invoice) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("status", invoice.getStatus().name());
+        payload.put("total", invoice.getTotal().toPlainString());
+        payload.put("createdAt", invoice.getCreatedAt().toString());
+        return payload;
+    }
+}
@@ -0,0 +1,96 @@
+package com.trademate.features.invoice.model;
+
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.model.Client;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A quote or invoice. Totals are derived from the line items by
+ * InvoiceService and are read-only to API clients.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "invoices")
+@EntityListeners(AuditingEntityListener.class)
+public class Invoice implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private User user;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    // No FK: jobs is partitioned and jobs may be archived
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InvoiceType type;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(nullable = false)
+    private Integer sequenceNumber;
+
+    @Column(nullable = false)
+    private String number;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InvoiceStatus status;
+
+    @Column(nullable = false)
+    private LocalDate issueDate;
+
+    private LocalDate dueDate;
+
+    @Column(nullable = false, precision = 5, scale = 4)
+    private BigDecimal taxRate;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal taxTotal;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position")
+    @Builder.Default
+    private List<InvoiceLineItem> lineItems = new ArrayList<>();
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
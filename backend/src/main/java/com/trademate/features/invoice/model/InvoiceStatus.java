@@ -0,0 +1,10 @@
+package com.trademate.features.invoice.model;
+
+public enum InvoiceStatus {
+    DRAFT,
+    SENT,
+    ACCEPTED, // quotes
+    DECLINED, // quotes
+    PAID, // invoices
+    VOID
+}
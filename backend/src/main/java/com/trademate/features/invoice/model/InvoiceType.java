@@ -0,0 +1,6 @@
+package com.trademate.features.invoice.model;
+
+public enum InvoiceType {
+    QUOTE,
+    INVOICE
+}
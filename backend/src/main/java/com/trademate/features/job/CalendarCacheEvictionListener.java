@@ -0,0 +1,55 @@
+package com.trademate.features.job;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventListener;
+import com.trademate.shared.events.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evicts only the calendar weeks a change touched: the job's old and new
+ * scheduled weeks, or for a client rename, the weeks holding that client's jobs.
+ * Runs on the node that dispatches the event, so with several nodes the cache
+ * must be shared (CACHE_TYPE=redis) for the eviction to reach all of them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CalendarCacheEvictionListener implements DomainEventListener {
+
+    private final CacheManager cacheManager;
+    private final JobRepository jobRepository;
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        Cache cache = cacheManager.getCache(JobCalendarService.CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        Set<LocalDate> weeks = new HashSet<>();
+        for (DomainEvent event : events) {
+            if (event.type() == DomainEventType.CLIENT_UPDATED) {
+                jobRepository.findScheduledWeeksForClient(event.userId(), event.aggregateId())
+                        .forEach(week -> weeks.add(LocalDate.parse(week)));
+            } else if (event.type().name().startsWith("JOB_")) {
+                addWeek(weeks, event.payloadDateTime("scheduledDate"));
+                addWeek(weeks, event.payloadDateTime("previousScheduledDate"));
+            }
+        }
+        String username = events.get(0).username();
+        weeks.forEach(week -> cache.evict(JobCalendarService.cacheKey(username, week)));
+    }
+
+    private static void addWeek(Set<LocalDate> weeks, LocalDateTime dateTime) {
+        if (dateTime != null) {
+            weeks.add(JobCalendarService.weekStart(dateTime));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.model.User;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Moves COMPLETED jobs that have not changed for the configured age from the
+ * partitioned jobs table into jobs_archive, in small batches so each statement
+ * holds its row locks briefly. SKIP LOCKED lets several nodes run it at once.
+ * A job last changed before the cutoff was also created before it, so the
+ * scan is bounded to the ids of the cutoff month and earlier partitions.
+ * Each batch appends a JOB_ARCHIVED event per moved job in the same
+ * transaction, which also bumps the owners' cache generations, since archived
+ * jobs drop out of their job lists.
+ */
+@Slf4j
+@Component
+public class JobArchiver {
+
+    private static final String MOVE_BATCH = """
+            WITH moved AS (
+                DELETE FROM jobs
+                WHERE id IN (
+                    SELECT id FROM jobs
+                    WHERE status = 'COMPLETED' AND COALESCE(updated_at, created_at) < ?
+                      AND id < jobs_month_first_id((CAST(? AS DATE) + INTERVAL '1 month')::date)
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING *)
+            INSERT INTO jobs_archive (id, user_id, client_id, title, description, address, scheduled_date, status,
+                                      notes, created_at, updated_at, recurrence_rule, recurrence_parent_id,
+                                      occurrence_date, estimated_duration_minutes, latitude, longitude, version)
+            SELECT id, user_id, client_id, title, description, address, scheduled_date, status,
+                   notes, created_at, updated_at, recurrence_rule, recurrence_parent_id,
+                   occurrence_date, estimated_duration_minutes, latitude, longitude, version
+            FROM moved
+            RETURNING id, user_id, status, scheduled_date, created_at,
+                      (SELECT username FROM users u WHERE u.id = jobs_archive.user_id) AS username
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${app.jobs.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.archive.completed-older-than:365d}")
+    private Duration completedOlderThan;
+
+    @Value("${app.jobs.archive.batch-size:500}")
+    private int batchSize;
+
+    public JobArchiver(JdbcTemplate jdbcTemplate, OutboxWriter outboxWriter,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxWriter = outboxWriter;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.jobs.archive.cron:0 30 3 * * *}")
+    public void archiveCompletedJobs() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(completedOlderThan));
+        long total = 0;
+        int moved;
+        do {
+            moved = batchTransaction.execute(status -> moveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} completed jobs last changed before {}", total, cutoff);
+        }
+    }
+
+    private int moveBatch(Timestamp cutoff) {
+        Map<UUID, User> owners = new HashMap<>();
+        // Sorted by owner so concurrent batches take the per-user outbox locks in the same order
+        Map<UUID, Map<Long, Map<String, Object>>> payloads = new TreeMap<>();
+        jdbcTemplate.query(MOVE_BATCH, rs -> {
+            UUID userId = rs.getObject("user_id", UUID.class);
+            String username = rs.getString("username");
+            owners.computeIfAbsent(userId, id -> User.builder().id(id).username(username).build());
+            Map<String, Object> payload = new HashMap<>();
+            Timestamp scheduledDate = rs.getTimestamp("scheduled_date");
+            payload.put("status", rs.getString("status"));
+            payload.put("scheduledDate", scheduledDate == null ? null : scheduledDate.toLocalDateTime().toString());
+            payload.put("createdAt", rs.getTimestamp("created_at").toLocalDateTime().toString());
+            payloads.computeIfAbsent(userId, id -> new LinkedHashMap<>()).put(rs.getLong("id"), payload);
+        }, cutoff, cutoff, batchSize);
+        payloads.forEach((userId, jobs) ->
+                outboxWriter.appendAll(DomainEventType.JOB_ARCHIVED, owners.get(userId), jobs));
+        return payloads.values().stream().mapToInt(Map::size).sum();
+    }
+}
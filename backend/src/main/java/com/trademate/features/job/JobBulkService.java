@@ -0,0 +1,171 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.job.JobHistoryService.FieldChange;
+import com.trademate.features.job.dto.BulkUpdateResult;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Status changes and reschedules applied to many jobs at once.
+ *
+ * Each operation is one UPDATE ... FROM (SELECT ... FOR UPDATE) ... RETURNING
+ * statement scoped to the caller's jobs: the locked sub-select supplies the
+ * previous values for history and events, and the version is bumped so
+ * clients holding an old ETag get 412. The events go to the outbox in one
+ * batch, so listeners (and the dashboard cache eviction) see one delivery.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobBulkService {
+
+    static final int MAX_IDS = 500;
+
+    // Rows are locked in id order so concurrent bulk updates cannot deadlock
+    private static final String UPDATE_STATUS = """
+            UPDATE jobs j
+            SET status = :status, version = j.version + 1, updated_at = :now
+            FROM (SELECT id, status FROM jobs
+                  WHERE user_id = :userId AND id IN (:ids) AND status <> :status
+                  ORDER BY id
+                  FOR UPDATE) t
+            WHERE j.id = t.id
+            RETURNING j.id, t.status AS previous_status, j.scheduled_date, j.created_at
+            """;
+
+    // Recurring templates are left alone: moving one would detach its materialized occurrences
+    private static final String RESCHEDULE = """
+            UPDATE jobs j
+            SET scheduled_date = t.scheduled_date + :seconds * INTERVAL '1 second',
+                version = j.version + 1, updated_at = :now
+            FROM (SELECT id, scheduled_date FROM jobs
+                  WHERE user_id = :userId AND id IN (:ids)
+                    AND scheduled_date IS NOT NULL AND recurrence_rule IS NULL
+                  ORDER BY id
+                  FOR UPDATE) t
+            WHERE j.id = t.id
+            RETURNING j.id, j.status, j.scheduled_date, t.scheduled_date AS previous_scheduled_date,
+                      j.created_at, j.estimated_duration_minutes
+            """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final UserRepository userRepository;
+    private final OutboxWriter outboxWriter;
+    private final JobHistoryService jobHistoryService;
+    private final JobConflictService jobConflictService;
+
+    /** Sets {@code status} on the listed jobs; jobs already in that status are not touched. */
+    @Transactional
+    public BulkUpdateResult updateStatus(String username, List<Long> ids, JobStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        Set<Long> jobIds = validIds(ids);
+        var user = userRepository.findByUsername(username).orElseThrow();
+
+        Map<Long, Map<String, Object>> payloads = new LinkedHashMap<>();
+        List<FieldChange> changes = new ArrayList<>();
+        namedJdbcTemplate.query(UPDATE_STATUS, params(user, jobIds).addValue("status", status.name()), rs -> {
+            Job job = Job.builder()
+                    .id(rs.getLong("id"))
+                    .status(status)
+                    .scheduledDate(toDateTime(rs.getTimestamp("scheduled_date")))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .build();
+            JobStatus previous = JobStatus.valueOf(rs.getString("previous_status"));
+            payloads.put(job.getId(), JobService.eventPayload(job, previous, null));
+            changes.add(new FieldChange(job.getId(), previous.name(), status.name()));
+        });
+        return record(user, username, DomainEventType.JOB_STATUS_CHANGED, "status", payloads, changes);
+    }
+
+    /**
+     * Moves the listed jobs by {@code shift}. Unscheduled jobs and recurring
+     * templates are skipped. Conflict checks run against the new times, with
+     * the moved jobs ignoring each other's old positions.
+     */
+    @Transactional
+    public BulkUpdateResult reschedule(String username, List<Long> ids, Duration shift) {
+        if (shift == null || shift.isZero()) {
+            throw new IllegalArgumentException("A non-zero shift is required");
+        }
+        Set<Long> jobIds = validIds(ids);
+        var user = userRepository.findByUsername(username).orElseThrow();
+
+        List<Job> moved = new ArrayList<>();
+        Map<Long, Map<String, Object>> payloads = new LinkedHashMap<>();
+        List<FieldChange> changes = new ArrayList<>();
+        namedJdbcTemplate.query(RESCHEDULE, params(user, jobIds).addValue("seconds", shift.toSeconds()), rs -> {
+            Job job = Job.builder()
+                    .id(rs.getLong("id"))
+                    .status(JobStatus.valueOf(rs.getString("status")))
+                    .scheduledDate(rs.getTimestamp("scheduled_date").toLocalDateTime())
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .estimatedDurationMinutes(rs.getObject("estimated_duration_minutes", Integer.class))
+                    .build();
+            LocalDateTime previous = rs.getTimestamp("previous_scheduled_date").toLocalDateTime();
+            moved.add(job);
+            payloads.put(job.getId(), JobService.eventPayload(job, null, previous));
+            changes.add(new FieldChange(job.getId(), previous.toString(), job.getScheduledDate().toString()));
+        });
+
+        Set<Long> movedIds = payloads.keySet();
+        for (Job job : moved) {
+            jobConflictService.check(user.getId(), job, movedIds);
+        }
+        for (Job job : moved) {
+            jobConflictService.onSaved(user.getId(), job);
+        }
+        return record(user, username, DomainEventType.JOB_UPDATED, "scheduledDate", payloads, changes);
+    }
+
+    private BulkUpdateResult record(User user, String username, DomainEventType type, String field,
+            Map<Long, Map<String, Object>> payloads, List<FieldChange> changes) {
+        outboxWriter.appendAll(type, user, payloads);
+        jobHistoryService.recordBulkChange(user.getId(), username, field, changes);
+        return BulkUpdateResult.builder()
+                .updatedIds(new ArrayList<>(payloads.keySet()))
+                .build();
+    }
+
+    private static Set<Long> validIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty() || unique.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_IDS + " job ids are allowed per request");
+        }
+        return unique;
+    }
+
+    private static MapSqlParameterSource params(User user, Set<Long> ids) {
+        return new MapSqlParameterSource()
+                .addValue("userId", user.getId())
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static LocalDateTime toDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
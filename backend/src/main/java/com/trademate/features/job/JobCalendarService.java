@@ -0,0 +1,111 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.job.dto.CalendarEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Day-bucketed calendar view. Jobs are loaded and cached one ISO week (in the
+ * server zone, where scheduled dates are stored) at a time, so a change only
+ * invalidates the weeks it touches; see CalendarCacheEvictionListener.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobCalendarService {
+
+    public static final String CACHE_NAME = "calendarWeeks";
+    private static final long MAX_RANGE_DAYS = 92;
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final RecurrenceService recurrenceService;
+
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<CalendarEntry>> getCalendar(String username, LocalDate from, LocalDate to,
+            ZoneId zone) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Calendar range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        var user = userRepository.findByUsername(username).orElseThrow();
+        ZoneId serverZone = ZoneId.systemDefault();
+        LocalDateTime start = LocalDateTime.ofInstant(from.atStartOfDay(zone).toInstant(), serverZone);
+        LocalDateTime end = LocalDateTime.ofInstant(to.plusDays(1).atStartOfDay(zone).toInstant(), serverZone);
+
+        Map<LocalDate, List<CalendarEntry>> days = new TreeMap<>();
+        for (LocalDate week = weekStart(start); week.atStartOfDay().isBefore(end); week = week.plusWeeks(1)) {
+            for (CalendarEntry entry : weekEntries(user.getId(), username, week)) {
+                LocalDateTime scheduled = entry.getScheduledDate();
+                if (scheduled.isBefore(start) || !scheduled.isBefore(end)) {
+                    continue;
+                }
+                LocalDateTime local = scheduled.atZone(serverZone).withZoneSameInstant(zone).toLocalDateTime();
+                days.computeIfAbsent(local.toLocalDate(), d -> new ArrayList<>())
+                        .add(entry.toBuilder().scheduledDate(local).build());
+            }
+        }
+
+        // Recurring occurrences are expanded per request rather than cached, so
+        // editing a template never invalidates calendar weeks
+        recurrenceService.expand(user.getId(), start, end, (template, scheduled) -> {
+            LocalDateTime local = scheduled.atZone(serverZone).withZoneSameInstant(zone).toLocalDateTime();
+            days.computeIfAbsent(local.toLocalDate(), d -> new ArrayList<>()).add(CalendarEntry.builder()
+                    .title(template.getTitle())
+                    .scheduledDate(local)
+                    .status(template.getStatus())
+                    .clientName(template.getClient() == null ? null : template.getClient().getName())
+                    .recurrenceParentId(template.getId())
+                    .build());
+        });
+        days.values().forEach(entries -> entries.sort(Comparator.comparing(CalendarEntry::getScheduledDate)));
+        return days;
+    }
+
+    /** Loads the week containing {@code day} into the cache if it is not there yet. */
+    @Transactional(readOnly = true)
+    public void prefetchWeek(String username, LocalDate day) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        weekEntries(user.getId(), username, weekStart(day.atStartOfDay()));
+    }
+
+    public static LocalDate weekStart(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    public static String cacheKey(String username, LocalDate weekStart) {
+        return username + ":" + weekStart;
+    }
+
+    private List<CalendarEntry> weekEntries(UUID userId, String username, LocalDate week) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return loadWeek(userId, week);
+        }
+        return cache.get(cacheKey(username, week), () -> loadWeek(userId, week));
+    }
+
+    private List<CalendarEntry> loadWeek(UUID userId, LocalDate week) {
+        return new ArrayList<>(jobRepository.findCalendarEntries(
+                userId, week.atStartOfDay(), week.plusWeeks(1).atStartOfDay()));
+    }
+}
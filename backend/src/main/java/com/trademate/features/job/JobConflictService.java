@@ -0,0 +1,345 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.job.dto.JobConflict;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import com.trademate.shared.exception.SchedulingConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Double-booking checks.
+ *
+ * Each user's upcoming jobs, with the occurrences of their recurring jobs
+ * expanded, are held in an in-memory interval tree built over
+ * [now - look-back, now + horizon] and kept current by this node's writes
+ * after commit, so a check is one O(log n) lookup. Saving a recurring job
+ * drops the index so its occurrences are expanded again. Writes made on other
+ * nodes are picked up when the index expires (index-ttl). Checks outside the
+ * indexed window query the database instead.
+ *
+ * Completed jobs no longer occupy their slot and are left out. An occurrence
+ * that is not materialized yet has no id and is reported by its recurring
+ * job's id.
+ *
+ * The check is advisory: two concurrent bookings for the same slot can both
+ * pass it.
+ */
+@Service
+public class JobConflictService {
+
+    public enum Mode {
+        OFF,
+        WARN,
+        REJECT
+    }
+
+    public static final int MAX_DURATION_MINUTES = 7 * 24 * 60;
+    private static final Duration MAX_DURATION = Duration.ofMinutes(MAX_DURATION_MINUTES);
+    private static final long MAX_SCAN_DAYS = 92;
+    private static final long OCCURRENCE_KEY_DAYS = 1_000_000;
+
+    private static final class UserIndex {
+        final JobIntervalTree tree = new JobIntervalTree();
+        final Set<Long> templateIds = new HashSet<>();
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final long builtAt = System.nanoTime();
+
+        UserIndex(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final RecurrenceService recurrenceService;
+    private final Mode mode;
+    private final Duration defaultDuration;
+    private final Duration lookBack;
+    private final Duration horizon;
+    private final Duration ttl;
+    private final ConcurrentHashMap<UUID, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public JobConflictService(JobRepository jobRepository, UserRepository userRepository,
+            RecurrenceService recurrenceService,
+            @Value("${app.jobs.conflicts.mode:WARN}") Mode mode,
+            @Value("${app.jobs.conflicts.default-duration:60m}") Duration defaultDuration,
+            @Value("${app.jobs.conflicts.index-look-back:30d}") Duration lookBack,
+            @Value("${app.jobs.conflicts.index-horizon:365d}") Duration horizon,
+            @Value("${app.jobs.conflicts.index-ttl:10m}") Duration ttl) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.recurrenceService = recurrenceService;
+        this.mode = mode;
+        this.defaultDuration = defaultDuration;
+        this.lookBack = lookBack;
+        this.horizon = horizon;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Applies the configured mode to a job about to be saved: REJECT throws,
+     * WARN lists the overlapping jobs on {@code job.conflictingJobIds}.
+     */
+    public void check(UUID userId, Job job) {
+        check(userId, job, Set.of());
+    }
+
+    /**
+     * As {@link #check(UUID, Job)}, ignoring the jobs in {@code moving}: jobs
+     * rescheduled together by the same shift keep their relative positions, so
+     * their stale index entries must not count as conflicts.
+     */
+    public void check(UUID userId, Job job, Set<Long> moving) {
+        Integer minutes = job.getEstimatedDurationMinutes();
+        if (minutes != null && (minutes < 1 || minutes > MAX_DURATION_MINUTES)) {
+            throw new IllegalArgumentException(
+                    "Estimated duration must be between 1 and " + MAX_DURATION_MINUTES + " minutes");
+        }
+        if (mode == Mode.OFF || job.getScheduledDate() == null || job.getRecurrenceRule() != null
+                || job.getStatus() == JobStatus.COMPLETED) {
+            return;
+        }
+        List<Long> conflicts = findConflicts(userId, job, moving);
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.REJECT) {
+            throw new SchedulingConflictException(conflicts);
+        }
+        job.setConflictingJobIds(conflicts);
+    }
+
+    /** Updates the user's index once the surrounding transaction commits. */
+    public void onSaved(UUID userId, Job job) {
+        long id = job.getId();
+        boolean recurring = job.getRecurrenceRule() != null;
+        LocalDateTime start = job.getScheduledDate();
+        LocalDateTime end = start == null || recurring || !occupiesSlot(job) ? null : endOf(job);
+        // A materialized occurrence replaces its expanded entry
+        Long replaced = job.getRecurrenceParentId() == null || job.getOccurrenceDate() == null
+                ? null
+                : occurrenceKey(job.getRecurrenceParentId(), job.getOccurrenceDate());
+        afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index == null) {
+                return;
+            }
+            synchronized (index) {
+                if (recurring || index.templateIds.contains(id)) {
+                    indexes.remove(userId, index);
+                    return;
+                }
+                if (replaced != null) {
+                    index.tree.remove(replaced);
+                }
+                if (end == null) {
+                    index.tree.remove(id);
+                } else {
+                    index.tree.put(id, seconds(start), seconds(end));
+                }
+            }
+        });
+    }
+
+    public void onDeleted(UUID userId, long jobId) {
+        afterCommit(() -> {
+            UserIndex index = indexes.get(userId);
+            if (index != null) {
+                synchronized (index) {
+                    if (index.templateIds.contains(jobId)) {
+                        indexes.remove(userId, index);
+                    } else {
+                        index.tree.remove(jobId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * All pairs of overlapping jobs with any part in [from, to), found with a
+     * sweep over start times in O(n log n + k).
+     */
+    @Transactional(readOnly = true)
+    public List<JobConflict> scan(String username, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_SCAN_DAYS) {
+            throw new IllegalArgumentException("Conflict scans are limited to " + MAX_SCAN_DAYS + " days");
+        }
+        var user = userRepository.findByUsername(username).orElseThrow();
+        List<Job> jobs = bookings(user.getId(), from.minus(MAX_DURATION), to);
+        jobs.sort(Comparator.comparing(Job::getScheduledDate));
+
+        List<JobConflict> conflicts = new ArrayList<>();
+        PriorityQueue<Job> active = new PriorityQueue<>(Comparator.comparing(this::endOf));
+        for (Job job : jobs) {
+            LocalDateTime start = job.getScheduledDate();
+            if (!start.isBefore(to)) {
+                break;
+            }
+            while (!active.isEmpty() && !endOf(active.peek()).isAfter(start)) {
+                active.poll();
+            }
+            LocalDateTime end = endOf(job);
+            for (Job other : active) {
+                LocalDateTime overlapEnd = min(end, endOf(other));
+                if (overlapEnd.isAfter(from) && !sameSeries(job, other)) {
+                    conflicts.add(JobConflict.builder()
+                            .jobId(reportedId(other))
+                            .conflictingJobId(reportedId(job))
+                            .overlapStart(start)
+                            .overlapEnd(overlapEnd)
+                            .build());
+                }
+            }
+            active.add(job);
+        }
+        return conflicts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.conflicts.index-ttl:10m}")
+    public void evictExpired() {
+        indexes.values().removeIf(this::expired);
+    }
+
+    private List<Long> findConflicts(UUID userId, Job job, Set<Long> ignored) {
+        LocalDateTime start = job.getScheduledDate();
+        LocalDateTime end = endOf(job);
+        long excludeId = job.getId() == null ? Long.MIN_VALUE : job.getId();
+        // Materializing an occurrence must not conflict with its own expanded entry
+        long excludeOccurrence = job.getRecurrenceParentId() == null || job.getOccurrenceDate() == null
+                ? Long.MIN_VALUE
+                : occurrenceKey(job.getRecurrenceParentId(), job.getOccurrenceDate());
+        List<Long> conflicts = new ArrayList<>();
+
+        UserIndex index = index(userId);
+        // A job starting up to MAX_DURATION before the window can still reach into it
+        if (start.isBefore(index.from.plus(MAX_DURATION)) || end.isAfter(index.to)) {
+            for (Job other : bookings(userId, start.minus(MAX_DURATION), end)) {
+                long key = key(other);
+                if (key != excludeId && key != excludeOccurrence && !ignored.contains(key)
+                        && other.getScheduledDate().isBefore(end)
+                        && endOf(other).isAfter(start)) {
+                    conflicts.add(reportedId(other));
+                }
+            }
+            return conflicts;
+        }
+        synchronized (index) {
+            index.tree.overlapping(seconds(start), seconds(end), excludeId, key -> {
+                if (key != excludeOccurrence && !ignored.contains(key)) {
+                    conflicts.add(key < 0 ? templateIdOf(key) : key);
+                }
+            });
+        }
+        return conflicts;
+    }
+
+    /**
+     * Jobs and expanded occurrences starting in [start, end] that occupy
+     * their slot.
+     */
+    private List<Job> bookings(UUID userId, LocalDateTime start, LocalDateTime end) {
+        List<Job> bookings = new ArrayList<>(jobRepository.findJobsForDateRange(userId, start, end));
+        bookings.addAll(recurrenceService.occurrences(userId, start, end));
+        bookings.removeIf(job -> !occupiesSlot(job));
+        return bookings;
+    }
+
+    private UserIndex index(UUID userId) {
+        UserIndex index = indexes.get(userId);
+        if (index != null && !expired(index)) {
+            return index;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        UserIndex built = new UserIndex(now.minus(lookBack), now.plus(horizon));
+        for (Job job : bookings(userId, built.from, built.to)) {
+            built.tree.put(key(job), seconds(job.getScheduledDate()), seconds(endOf(job)));
+            if (job.getId() == null) {
+                built.templateIds.add(job.getRecurrenceParentId());
+            }
+        }
+        indexes.put(userId, built);
+        return built;
+    }
+
+    private boolean expired(UserIndex index) {
+        return System.nanoTime() - index.builtAt > ttl.toNanos();
+    }
+
+    private LocalDateTime endOf(Job job) {
+        Integer minutes = job.getEstimatedDurationMinutes();
+        return job.getScheduledDate().plus(minutes == null ? defaultDuration : Duration.ofMinutes(minutes));
+    }
+
+    private static boolean occupiesSlot(Job job) {
+        return job.getStatus() != JobStatus.COMPLETED;
+    }
+
+    /** Index key: the job id, or for an expanded occurrence a negative key from its template and date. */
+    private static long key(Job job) {
+        return job.getId() != null ? job.getId() : occurrenceKey(job.getRecurrenceParentId(), job.getOccurrenceDate());
+    }
+
+    private static long occurrenceKey(long templateId, LocalDate date) {
+        return -(templateId * OCCURRENCE_KEY_DAYS + date.toEpochDay());
+    }
+
+    private static long templateIdOf(long occurrenceKey) {
+        return -occurrenceKey / OCCURRENCE_KEY_DAYS;
+    }
+
+    private static Long reportedId(Job job) {
+        return job.getId() != null ? job.getId() : job.getRecurrenceParentId();
+    }
+
+    /** Two expanded occurrences of one recurring job, which only overlap when it outlasts its interval. */
+    private static boolean sameSeries(Job a, Job b) {
+        return a.getId() == null && b.getId() == null && a.getRecurrenceParentId().equals(b.getRecurrenceParentId());
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
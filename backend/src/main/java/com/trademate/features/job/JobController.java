@@ -1,13 +1,31 @@
 package com.trademate.features.job;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.trademate.features.job.dto.BulkRescheduleRequest;
+import com.trademate.features.job.dto.BulkStatusRequest;
+import com.trademate.features.job.dto.BulkUpdateResult;
+import com.trademate.features.job.dto.CalendarEntry;
+import com.trademate.features.job.dto.JobConflict;
+import com.trademate.features.job.dto.JobHistoryPage;
+import com.trademate.features.job.dto.RoutePlan;
 import com.trademate.features.job.model.Job;
+import com.trademate.shared.web.ETags;
+import com.trademate.shared.web.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -15,21 +33,133 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final JobBulkService jobBulkService;
+    private final JobHistoryService jobHistoryService;
+    private final JobCalendarService jobCalendarService;
+    private final JobConflictService jobConflictService;
+    private final RouteService routeService;
 
+    /**
+     * {@code fields} (e.g. id,title,status,client.name) returns only those fields of current jobs; it cannot be
+     * combined with includeArchived or a date range.
+     */
     @GetMapping
-    public ResponseEntity<List<Job>> getJobs(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(jobService.getJobs(userDetails.getUsername()));
+    public ResponseEntity<List<?>> getJobs(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            if (includeArchived || from != null || to != null) {
+                throw new IllegalArgumentException("'fields' cannot be combined with includeArchived or from/to");
+            }
+            return ResponseEntity.ok(jobService.getJobs(userDetails.getUsername(), fields));
+        }
+        if (from != null && to != null) {
+            return ResponseEntity.ok(jobService.getJobs(userDetails.getUsername(), from, to));
+        }
+        return ResponseEntity.ok(jobService.getJobs(userDetails.getUsername(), includeArchived));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<LocalDate, List<CalendarEntry>>> getCalendar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String tz) {
+        ZoneId zone = tz == null ? ZoneId.systemDefault() : ZoneId.of(tz);
+        return ResponseEntity.ok(jobCalendarService.getCalendar(userDetails.getUsername(), from, to, zone));
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<JobConflict>> getConflicts(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(jobConflictService.scan(userDetails.getUsername(), from, to));
+    }
+
+    @GetMapping("/route")
+    public ResponseEntity<RoutePlan> getRoute(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Double startLatitude,
+            @RequestParam(required = false) Double startLongitude) {
+        return ResponseEntity.ok(
+                routeService.planRoute(userDetails.getUsername(), date, startLatitude, startLongitude));
+    }
+
+    /** With {@code fields}, only those fields are returned and no ETag is set. */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (fields != null) {
+            return ResponseEntity.ok(jobService.getJob(userDetails.getUsername(), id, fields));
+        }
+        Job job = jobService.getJob(userDetails.getUsername(), id);
+        if (ETags.matches(ifNoneMatch, job.getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(job.getVersion())).build();
+        }
+        return ResponseEntity.ok().eTag(ETags.of(job.getVersion())).body(job);
     }
 
     @PostMapping
     public ResponseEntity<Job> createJob(@AuthenticationPrincipal UserDetails userDetails, @RequestBody Job job) {
-        return ResponseEntity.ok(jobService.createJob(userDetails.getUsername(), job));
+        Job saved = jobService.createJob(userDetails.getUsername(), job);
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
     }
 
+    /** Requires If-Match with the job's current ETag: 428 without it, 412 if the job has changed since. */
     @PutMapping("/{id}")
     public ResponseEntity<Job> updateJob(@AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long id, @RequestBody Job job) {
-        return ResponseEntity.ok(jobService.updateJob(userDetails.getUsername(), id, job));
+            @PathVariable Long id, @RequestBody Job job,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Job saved = jobService.updateJob(userDetails.getUsername(), id, job, ETags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /** JSON Merge Patch; only changed columns are written. If-Match is required as for PUT. */
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Job> patchJob(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Job saved = jobService.patchJob(userDetails.getUsername(), id, patch, ETags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /** If-Match is checked when given; an occurrence that is not materialized yet has no ETag to send. */
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<Job> updateOccurrence(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestBody Job job,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Job saved = jobService.updateOccurrence(userDetails.getUsername(), id, date, job,
+                ETags.optionalVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
+    }
+
+    /** Sets the status of up to 500 jobs in one statement; returns the ids that changed. */
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkUpdateResult> bulkUpdateStatus(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(jobBulkService.updateStatus(userDetails.getUsername(), request.getIds(),
+                request.getStatus()));
+    }
+
+    /** Shifts up to 500 scheduled jobs by the same duration; returns the ids that moved. */
+    @PostMapping("/bulk/reschedule")
+    public ResponseEntity<BulkUpdateResult> bulkReschedule(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody BulkRescheduleRequest request) {
+        return ResponseEntity.ok(jobBulkService.reschedule(userDetails.getUsername(), request.getIds(),
+                request.getShift()));
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<JobHistoryPage> getJobHistory(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobHistoryService.getHistory(userDetails.getUsername(), id, before, limit));
     }
 
     @DeleteMapping("/{id}")
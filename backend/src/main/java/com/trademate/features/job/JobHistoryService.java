@@ -0,0 +1,139 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.job.dto.JobHistoryPage;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobEvent;
+import com.trademate.features.job.model.JobEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class JobHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String SELECT_PAGE = """
+            SELECT id, job_id, user_id, actor, event_type, field, old_value, new_value, occurred_at
+            FROM job_events
+            WHERE job_id = ? AND user_id = ? AND id < ?
+            ORDER BY id DESC
+            LIMIT ?
+            """;
+
+    public record FieldChange(long jobId, String oldValue, String newValue) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobHistoryWriter jobHistoryWriter;
+    private final UserRepository userRepository;
+
+    /**
+     * Captures the tracked fields of a job before it is modified, for diffing
+     * in {@link #recordUpdate}.
+     */
+    public static Map<String, String> snapshot(Job job) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", job.getTitle());
+        fields.put("description", job.getDescription());
+        fields.put("address", job.getAddress());
+        fields.put("scheduledDate", job.getScheduledDate() == null ? null : job.getScheduledDate().toString());
+        fields.put("status", job.getStatus() == null ? null : job.getStatus().name());
+        fields.put("notes", job.getNotes());
+        fields.put("clientId", job.getClient() == null ? null : String.valueOf(job.getClient().getId()));
+        fields.put("estimatedDurationMinutes", job.getEstimatedDurationMinutes() == null
+                ? null : job.getEstimatedDurationMinutes().toString());
+        fields.put("recurrenceRule", job.getRecurrenceRule());
+        return fields;
+    }
+
+    public void recordCreated(Job job, String actor) {
+        jobHistoryWriter.write(List.of(event(job, actor, JobEventType.CREATED, null, null, null)));
+    }
+
+    public void recordUpdate(Job job, Map<String, String> before, String actor) {
+        Map<String, String> after = snapshot(job);
+        List<JobEvent> events = new ArrayList<>();
+        before.forEach((field, oldValue) -> {
+            String newValue = after.get(field);
+            if (!Objects.equals(oldValue, newValue)) {
+                JobEventType type = "status".equals(field) ? JobEventType.STATUS_CHANGED : JobEventType.UPDATED;
+                events.add(event(job, actor, type, field, oldValue, newValue));
+            }
+        });
+        jobHistoryWriter.write(events);
+    }
+
+    /** One history row per job for a field that a bulk update changed on all of them. */
+    public void recordBulkChange(UUID userId, String actor, String field, List<FieldChange> changes) {
+        JobEventType type = "status".equals(field) ? JobEventType.STATUS_CHANGED : JobEventType.UPDATED;
+        LocalDateTime now = LocalDateTime.now();
+        jobHistoryWriter.write(changes.stream()
+                .map(change -> JobEvent.builder()
+                        .jobId(change.jobId())
+                        .userId(userId)
+                        .actor(actor)
+                        .type(type)
+                        .field(field)
+                        .oldValue(change.oldValue())
+                        .newValue(change.newValue())
+                        .occurredAt(now)
+                        .build())
+                .toList());
+    }
+
+    public void recordDeleted(Job job, String actor) {
+        jobHistoryWriter.write(List.of(event(job, actor, JobEventType.DELETED, null, null, null)));
+    }
+
+    @Transactional(readOnly = true)
+    public JobHistoryPage getHistory(String username, Long jobId, Long before, int limit) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long cursor = before == null ? Long.MAX_VALUE : before;
+
+        List<JobEvent> rows = jdbcTemplate.query(SELECT_PAGE, (rs, rowNum) -> JobEvent.builder()
+                .id(rs.getLong("id"))
+                .jobId(rs.getLong("job_id"))
+                .userId(rs.getObject("user_id", UUID.class))
+                .actor(rs.getString("actor"))
+                .type(JobEventType.valueOf(rs.getString("event_type")))
+                .field(rs.getString("field"))
+                .oldValue(rs.getString("old_value"))
+                .newValue(rs.getString("new_value"))
+                .occurredAt(rs.getTimestamp("occurred_at").toLocalDateTime())
+                .build(), jobId, user.getId(), cursor, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<JobEvent> events = hasMore ? rows.subList(0, pageSize) : rows;
+        return JobHistoryPage.builder()
+                .events(events)
+                .nextCursor(hasMore ? events.get(events.size() - 1).getId() : null)
+                .build();
+    }
+
+    private static JobEvent event(Job job, String actor, JobEventType type, String field,
+            String oldValue, String newValue) {
+        return JobEvent.builder()
+                .jobId(job.getId())
+                .userId(job.getUser().getId())
+                .actor(actor)
+                .type(type)
+                .field(field)
+                .oldValue(oldValue)
+                .newValue(newValue)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
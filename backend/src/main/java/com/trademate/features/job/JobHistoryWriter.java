@@ -0,0 +1,150 @@
+package com.trademate.features.job;
+
+import com.trademate.features.job.model.JobEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists job history rows.
+ *
+ * In ASYNC mode (default) rows are queued in a bounded ring after the request
+ * transaction commits and flushed in JDBC batches by a background virtual
+ * thread; a crash can lose what is still queued. When the ring is full the
+ * caller writes its rows directly rather than dropping them, in a new
+ * transaction: the request's connection is still bound to the thread after
+ * commit, and anything written on it there would never be committed.
+ * In SYNC mode rows are batch-inserted inside the request transaction.
+ */
+@Slf4j
+@Component
+public class JobHistoryWriter {
+
+    public enum Durability {
+        SYNC,
+        ASYNC
+    }
+
+    private static final String INSERT = """
+            INSERT INTO job_events (job_id, user_id, actor, event_type, field, old_value, new_value, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate overflowTransaction;
+    private final Durability durability;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final ArrayBlockingQueue<JobEvent> ring;
+    private final Counter overflows;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public JobHistoryWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.jobs.history.durability:ASYNC}") Durability durability,
+            @Value("${app.jobs.history.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${app.jobs.history.batch-size:200}") int batchSize,
+            @Value("${app.jobs.history.flush-interval:500ms}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.overflowTransaction = new TransactionTemplate(transactionManager);
+        this.overflowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.ring = new ArrayBlockingQueue<>(bufferCapacity);
+        this.overflows = Counter.builder("job.history.buffer.overflows")
+                .description("History batches written on the caller thread because the ring was full")
+                .register(meterRegistry);
+        Gauge.builder("job.history.buffer.size", ring, ArrayBlockingQueue::size).register(meterRegistry);
+        this.flusher = durability == Durability.ASYNC
+                ? Thread.ofVirtual().name("job-history-flusher").start(this::run)
+                : null;
+    }
+
+    public void write(List<JobEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (durability == Durability.SYNC || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(events);
+            }
+        });
+    }
+
+    private void enqueue(List<JobEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (!ring.offer(events.get(i))) {
+                overflows.increment();
+                List<JobEvent> rest = events.subList(i, events.size());
+                overflowTransaction.executeWithoutResult(status -> insert(rest));
+                return;
+            }
+        }
+    }
+
+    private void run() {
+        List<JobEvent> batch = new ArrayList<>(batchSize);
+        while (running || !ring.isEmpty()) {
+            try {
+                JobEvent first = ring.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                ring.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} job history rows", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<JobEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, batchSize, (ps, event) -> {
+            ps.setLong(1, event.getJobId());
+            ps.setObject(2, event.getUserId());
+            ps.setString(3, event.getActor());
+            ps.setString(4, event.getType().name());
+            ps.setString(5, event.getField());
+            ps.setString(6, event.getOldValue());
+            ps.setString(7, event.getNewValue());
+            ps.setTimestamp(8, Timestamp.valueOf(event.getOccurredAt()));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(flushInterval.multipliedBy(4).toMillis());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.trademate.features.job;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Treap of half-open [start, end) intervals keyed by (start, id), where each
+ * node also tracks the largest end in its subtree. Insert and remove are
+ * O(log n) expected; an overlap query is O(log n + k) for k matches.
+ * Not thread-safe.
+ */
+final class JobIntervalTree {
+
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Map<Long, Node> byId = new HashMap<>();
+    private final RandomGenerator random = RandomGenerator.getDefault();
+    private Node root;
+
+    int size() {
+        return byId.size();
+    }
+
+    void put(long id, long start, long end) {
+        remove(id);
+        Node node = new Node(id, start, end, random.nextInt());
+        byId.put(id, node);
+        root = insert(root, node);
+    }
+
+    void remove(long id) {
+        Node node = byId.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    /** Reports the id of every interval overlapping [start, end), except {@code excludeId}. */
+    void overlapping(long start, long end, long excludeId, LongConsumer sink) {
+        visit(root, start, end, excludeId, sink);
+    }
+
+    private static void visit(Node node, long start, long end, long excludeId, LongConsumer sink) {
+        while (node != null && node.maxEnd > start) {
+            visit(node.left, start, end, excludeId, sink);
+            if (node.start >= end) {
+                return;
+            }
+            if (node.end > start && node.id != excludeId) {
+                sink.accept(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            update(inserted);
+            return inserted;
+        }
+        if (before(inserted, node)) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (before(removed, node)) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+
+    /** Splits into nodes ordered before {@code key} and the rest. */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (before(node, key)) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static boolean before(Node a, Node b) {
+        return a.start < b.start || (a.start == b.start && a.id < b.id);
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+}
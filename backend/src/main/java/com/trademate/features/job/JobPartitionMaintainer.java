@@ -0,0 +1,37 @@
+package com.trademate.features.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly partitions of the jobs table created ahead of time so inserts
+ * never hit a missing id range. Creation is idempotent, so every node may run it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobPartitionMaintainer {
+
+    private static final String ENSURE = """
+            SELECT create_jobs_partition((date_trunc('month', CURRENT_DATE) + ahead * INTERVAL '1 month')::date)
+            FROM generate_series(0, ?) ahead
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.jobs.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.jobs.partitions.cron:0 0 2 * * *}")
+    public void ensureFuturePartitions() {
+        jdbcTemplate.queryForList(ENSURE, monthsAhead);
+        log.debug("Job partitions ensured {} months ahead", monthsAhead);
+    }
+}
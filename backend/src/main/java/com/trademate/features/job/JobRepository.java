@@ -1,11 +1,14 @@
 package com.trademate.features.job;
 
+import com.trademate.features.job.dto.CalendarEntry;
 import com.trademate.features.job.model.Job;
 import com.trademate.features.job.model.JobStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +26,42 @@ public interface JobRepository extends JpaRepository<Job, Long> {
 
     long countByUserIdAndStatus(UUID userId, JobStatus status);
 
-    @Query("SELECT j FROM Job j WHERE j.user.id = :userId AND j.scheduledDate BETWEEN :start AND :end")
+    // Recurring templates are excluded: their occurrences come from RecurrenceService
+    @Query("SELECT j FROM Job j WHERE j.user.id = :userId AND j.scheduledDate BETWEEN :start AND :end "
+            + "AND j.recurrenceRule IS NULL")
     List<Job> findJobsForDateRange(UUID userId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT j FROM Job j WHERE j.user.id = :userId AND j.recurrenceRule IS NOT NULL "
+            + "AND j.scheduledDate < :end")
+    List<Job> findRecurringTemplates(UUID userId, LocalDateTime end);
+
+    @Query("SELECT j.recurrenceParentId, j.occurrenceDate FROM Job j "
+            + "WHERE j.recurrenceParentId IN :templateIds AND j.occurrenceDate BETWEEN :from AND :to")
+    List<Object[]> findMaterializedOccurrences(List<Long> templateIds, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.latitude = :latitude, j.longitude = :longitude WHERE j.id = :id")
+    int updateCoordinates(Long id, double latitude, double longitude);
+
+    Optional<Job> findByRecurrenceParentIdAndOccurrenceDate(Long recurrenceParentId, LocalDate occurrenceDate);
+
+    @Query("SELECT new com.trademate.features.job.dto.CalendarEntry(j.id, j.title, j.scheduledDate, j.status, c.name) "
+            + "FROM Job j LEFT JOIN j.client c "
+            + "WHERE j.user.id = :userId AND j.scheduledDate >= :start AND j.scheduledDate < :end "
+            + "AND j.recurrenceRule IS NULL "
+            + "ORDER BY j.scheduledDate")
+    List<CalendarEntry> findCalendarEntries(UUID userId, LocalDateTime start, LocalDateTime end);
+
+    // ISO week starts (yyyy-MM-dd) that contain a job for the client
+    @Query(value = "SELECT DISTINCT to_char(date_trunc('week', scheduled_date), 'YYYY-MM-DD') FROM jobs "
+            + "WHERE user_id = :userId AND client_id = :clientId AND scheduled_date IS NOT NULL", nativeQuery = true)
+    List<String> findScheduledWeeksForClient(UUID userId, Long clientId);
+
+    // Archived (cold) jobs live outside the partitioned table and are only read on request
+    @Query(value = "SELECT * FROM jobs_archive WHERE user_id = :userId ORDER BY created_at DESC", nativeQuery = true)
+    List<Job> findArchivedByUserId(UUID userId);
+
+    // Every archived job is COMPLETED, so this also counts the user's archived completed jobs
+    @Query(value = "SELECT count(*) FROM jobs_archive WHERE user_id = :userId", nativeQuery = true)
+    long countArchivedByUserId(UUID userId);
 }
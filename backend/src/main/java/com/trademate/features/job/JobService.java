@@ -1,34 +1,128 @@
 package com.trademate.features.job;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.trademate.shared.cache.UserGenerationKeyGenerator;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
 import com.trademate.shared.exception.EntityNotFoundException;
+import com.trademate.shared.exception.PreconditionFailedException;
+import com.trademate.shared.projection.FieldCatalog;
+import com.trademate.shared.projection.ProjectionQuery;
+import com.trademate.shared.web.JsonMergePatch;
 import com.trademate.features.job.model.Job;
 import com.trademate.features.job.model.JobStatus;
+import com.trademate.features.job.model.RecurrenceRule;
 import com.trademate.features.client.ClientRepository;
 import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.geo.Gazetteer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class JobService {
 
+    // Fields selectable with ?fields= (see FieldCatalog)
+    static final FieldCatalog FIELDS = FieldCatalog.builder("Job", "j")
+            .fields("id", "title", "description", "address", "scheduledDate", "status", "notes", "createdAt",
+                    "updatedAt", "recurrenceRule", "recurrenceParentId", "occurrenceDate",
+                    "estimatedDurationMinutes", "latitude", "longitude", "version")
+            .join("client", "c", "id", "name", "phone", "email", "address")
+            .build();
+
+    public static final String PROJECTION_CACHE = "jobProjections";
+
+    static final Set<String> PATCHABLE_FIELDS = Set.of("title", "description", "address", "status", "notes",
+            "scheduledDate", "estimatedDurationMinutes", "recurrenceRule");
+
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
+    private final OutboxWriter outboxWriter;
+    private final JobHistoryService jobHistoryService;
+    private final RecurrenceService recurrenceService;
+    private final JobConflictService jobConflictService;
+    private final Gazetteer gazetteer;
+    private final ObjectMapper objectMapper;
+    private final ProjectionQuery projectionQuery;
+
+    @Transactional(readOnly = true)
+    public List<Job> getJobs(String username, boolean includeArchived) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        List<Job> jobs = jobRepository.findByUserId(user.getId());
+        if (!includeArchived) {
+            return jobs;
+        }
+        List<Job> all = new ArrayList<>(jobs);
+        all.addAll(jobRepository.findArchivedByUserId(user.getId()));
+        return all;
+    }
 
-    public List<Job> getJobs(String username) {
+    /** Current jobs with only the requested fields, selected in SQL rather than filtered after loading. */
+    @Transactional(readOnly = true)
+    @Cacheable(value = PROJECTION_CACHE, keyGenerator = UserGenerationKeyGenerator.NAME, sync = true)
+    public List<Map<String, Object>> getJobs(String username, String fields) {
         var user = userRepository.findByUsername(username).orElseThrow();
-        return jobRepository.findByUserId(user.getId());
+        return projectionQuery.list(FIELDS.plan(fields), "j.user.id = :userId", Map.of("userId", user.getId()),
+                "j.id");
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
+    /**
+     * Jobs scheduled in [from, to), including occurrences of recurring jobs that
+     * have not been materialized yet (returned with a null id).
+     */
+    @Transactional(readOnly = true)
+    public List<Job> getJobs(String username, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        var user = userRepository.findByUsername(username).orElseThrow();
+        List<Job> jobs = new ArrayList<>(jobRepository.findJobsForDateRange(user.getId(), from, to));
+        jobs.removeIf(job -> !job.getScheduledDate().isBefore(to));
+        jobs.addAll(recurrenceService.occurrences(user.getId(), from, to));
+        jobs.sort(Comparator.comparing(Job::getScheduledDate));
+        return jobs;
+    }
+
+    @Transactional(readOnly = true)
+    public Job getJob(String username, Long id) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return jobRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = PROJECTION_CACHE, keyGenerator = UserGenerationKeyGenerator.NAME, sync = true)
+    public Map<String, Object> getJob(String username, Long id, String fields) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        return projectionQuery.list(FIELDS.plan(fields), "j.user.id = :userId AND j.id = :id",
+                        Map.of("userId", user.getId(), "id", id), null).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + id));
+    }
+
+    @Transactional
     public Job createJob(String username, Job jobRequest) {
         var user = userRepository.findByUsername(username).orElseThrow();
-        jobRequest.setUser(user);
+        validateRecurrence(jobRequest.getRecurrenceRule(), jobRequest.getScheduledDate());
+        jobRequest.setRecurrenceParentId(null);
+        jobRequest.setOccurrenceDate(null);
 
         // Safe client lookup — throws 404 instead of silently passing null
         if (jobRequest.getClient() != null && jobRequest.getClient().getId() != null) {
@@ -36,35 +130,188 @@ public class JobService {
                     .orElseThrow(() -> new EntityNotFoundException(
                             "Client not found with ID: " + jobRequest.getClient().getId())));
         }
+        return insert(user, jobRequest, username);
+    }
+
+    /**
+     * Creates or updates the concrete job for one occurrence of a recurring
+     * job. Once materialized, the occurrence is no longer expanded from the
+     * template and behaves like any other job; {@code expectedVersion} then
+     * applies to it as in {@link #updateJob}.
+     */
+    @Transactional
+    public Job updateOccurrence(String username, Long templateId, LocalDate date, Job jobRequest,
+            Long expectedVersion) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var template = jobRepository.findByIdAndUserId(templateId, user.getId())
+                .filter(job -> job.getRecurrenceRule() != null)
+                .orElseThrow(() -> new EntityNotFoundException("Recurring job not found with ID: " + templateId));
+        var existing = jobRepository.findByRecurrenceParentIdAndOccurrenceDate(templateId, date);
+        if (existing.isPresent()) {
+            return updateJob(username, existing.get().getId(), jobRequest, expectedVersion);
+        }
+        var start = template.getScheduledDate();
+        if (!RecurrenceRule.parse(template.getRecurrenceRule()).occursOn(start.toLocalDate(), date)) {
+            throw new EntityNotFoundException("Job " + templateId + " does not occur on " + date);
+        }
+        var occurrence = RecurrenceService.occurrence(template, date.atTime(start.toLocalTime()));
+        occurrence.setTitle(jobRequest.getTitle());
+        occurrence.setDescription(jobRequest.getDescription());
+        if (!Objects.equals(occurrence.getAddress(), jobRequest.getAddress())) {
+            occurrence.setAddress(jobRequest.getAddress());
+            occurrence.setLatitude(null);
+            occurrence.setLongitude(null);
+        }
+        occurrence.setStatus(jobRequest.getStatus());
+        occurrence.setNotes(jobRequest.getNotes());
+        if (jobRequest.getScheduledDate() != null) {
+            occurrence.setScheduledDate(jobRequest.getScheduledDate());
+        }
+        if (jobRequest.getEstimatedDurationMinutes() != null) {
+            occurrence.setEstimatedDurationMinutes(jobRequest.getEstimatedDurationMinutes());
+        }
+        return insert(user, occurrence, username);
+    }
 
+    private Job insert(User user, Job jobRequest, String username) {
+        jobRequest.setUser(user);
+        jobRequest.setVersion(null);
         jobRequest.setCreatedAt(LocalDateTime.now());
         jobRequest.setUpdatedAt(LocalDateTime.now());
         if (jobRequest.getStatus() == null) {
             jobRequest.setStatus(JobStatus.PENDING);
         }
-        return jobRepository.save(jobRequest);
+        if (jobRequest.getLatitude() == null || jobRequest.getLongitude() == null) {
+            geocode(jobRequest);
+        }
+        jobConflictService.check(user.getId(), jobRequest);
+        var saved = jobRepository.save(jobRequest);
+        jobConflictService.onSaved(user.getId(), saved);
+        outboxWriter.append(DomainEventType.JOB_CREATED, saved.getId(), user, eventPayload(saved, null, null));
+        jobHistoryService.recordCreated(saved, username);
+        return saved;
+    }
+
+    /**
+     * Applies an update if the job is still at {@code expectedVersion} (null
+     * skips the check). A concurrent writer that commits first makes the
+     * flush fail with ObjectOptimisticLockingFailureException instead of
+     * being overwritten. A request without a recurrence rule or estimated
+     * duration keeps the stored one, since the web client does not send them;
+     * PATCH can still clear either.
+     */
+    @Transactional
+    public Job updateJob(String username, Long id, Job jobRequest, Long expectedVersion) {
+        var user = userRepository.findByUsername(username).orElseThrow();
+        var job = findForUpdate(user, id, expectedVersion);
+        if (jobRequest.getRecurrenceRule() == null) {
+            jobRequest.setRecurrenceRule(job.getRecurrenceRule());
+        }
+        if (jobRequest.getEstimatedDurationMinutes() == null) {
+            jobRequest.setEstimatedDurationMinutes(job.getEstimatedDurationMinutes());
+        }
+        return applyUpdate(user, job, jobRequest, username);
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
-    public Job updateJob(String username, Long id, Job jobRequest) {
+    /**
+     * Applies a JSON Merge Patch of the fields in {@link #PATCHABLE_FIELDS}.
+     * Untouched fields keep their values, so with @DynamicUpdate the UPDATE
+     * only writes the columns that actually changed.
+     */
+    @Transactional
+    public Job patchJob(String username, Long id, JsonNode patch, Long expectedVersion) {
+        JsonMergePatch.requireOnly(patch, PATCHABLE_FIELDS);
         var user = userRepository.findByUsername(username).orElseThrow();
+        var job = findForUpdate(user, id, expectedVersion);
+        ObjectNode current = objectMapper.valueToTree(job);
+        current.retain(PATCHABLE_FIELDS);
+        Job jobRequest;
+        try {
+            jobRequest = objectMapper.treeToValue(JsonMergePatch.apply(current, patch), Job.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getOriginalMessage());
+        }
+        return applyUpdate(user, job, jobRequest, username);
+    }
+
+    private Job findForUpdate(User user, Long id, Long expectedVersion) {
         var job = jobRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(job.getVersion())) {
+            throw new PreconditionFailedException("Job " + id + " has been modified since it was read");
+        }
+        return job;
+    }
+
+    private Job applyUpdate(User user, Job job, Job jobRequest, String username) {
+        var previousStatus = job.getStatus();
+        var previousScheduledDate = job.getScheduledDate();
+        var before = JobHistoryService.snapshot(job);
         job.setTitle(jobRequest.getTitle());
         job.setDescription(jobRequest.getDescription());
-        job.setAddress(jobRequest.getAddress());
+        if (!Objects.equals(job.getAddress(), jobRequest.getAddress())) {
+            job.setAddress(jobRequest.getAddress());
+            geocode(job);
+        }
         job.setStatus(jobRequest.getStatus());
         job.setNotes(jobRequest.getNotes());
         job.setScheduledDate(jobRequest.getScheduledDate());
+        job.setEstimatedDurationMinutes(jobRequest.getEstimatedDurationMinutes());
+        if (job.getRecurrenceParentId() == null) {
+            validateRecurrence(jobRequest.getRecurrenceRule(), jobRequest.getScheduledDate());
+            job.setRecurrenceRule(jobRequest.getRecurrenceRule());
+        }
         job.setUpdatedAt(LocalDateTime.now());
-        return jobRepository.save(job);
+        jobConflictService.check(user.getId(), job);
+        var saved = jobRepository.saveAndFlush(job);
+        jobConflictService.onSaved(user.getId(), saved);
+        var type = previousStatus != saved.getStatus()
+                ? DomainEventType.JOB_STATUS_CHANGED
+                : DomainEventType.JOB_UPDATED;
+        outboxWriter.append(type, saved.getId(), user, eventPayload(saved, previousStatus, previousScheduledDate));
+        jobHistoryService.recordUpdate(saved, before, username);
+        return saved;
     }
 
-    @CacheEvict(value = "dashboardStats", key = "#username")
+    @Transactional
     public void deleteJob(String username, Long id) {
         var user = userRepository.findByUsername(username).orElseThrow();
         var job = jobRepository.findByIdAndUserId(id, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + id));
         jobRepository.delete(job);
+        jobConflictService.onDeleted(user.getId(), id);
+        outboxWriter.append(DomainEventType.JOB_DELETED, id, user, eventPayload(job, null, null));
+        jobHistoryService.recordDeleted(job, username);
+    }
+
+    private void geocode(Job job) {
+        var point = gazetteer.lookup(job.getAddress());
+        job.setLatitude(point.map(p -> p.latitude()).orElse(null));
+        job.setLongitude(point.map(p -> p.longitude()).orElse(null));
+    }
+
+    private static void validateRecurrence(String rule, LocalDateTime scheduledDate) {
+        if (rule == null) {
+            return;
+        }
+        if (scheduledDate == null) {
+            throw new IllegalArgumentException("A recurring job needs a scheduled date");
+        }
+        RecurrenceRule.parse(rule);
+    }
+
+    static Map<String, Object> eventPayload(Job job, JobStatus previousStatus,
+            LocalDateTime previousScheduledDate) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("status", job.getStatus() == null ? null : job.getStatus().name());
+        payload.put("scheduledDate", job.getScheduledDate() == null ? null : job.getScheduledDate().toString());
+        payload.put("createdAt", job.getCreatedAt().toString());
+        if (previousStatus != null) {
+            payload.put("previousStatus", previousStatus.name());
+        }
+        if (previousScheduledDate != null) {
+            payload.put("previousScheduledDate", previousScheduledDate.toString());
+        }
+        return payload;
     }
 }
@@ -0,0 +1,98 @@
+package com.trademate.features.job;
+
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.RecurrenceRule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Expands recurring job templates into occurrences for a time window.
+ * Only templates starting before the window end are loaded, and occurrences
+ * already materialized as real rows are skipped (the row is returned instead
+ * by the regular queries).
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurrenceService {
+
+    @FunctionalInterface
+    public interface OccurrenceSink {
+        void accept(Job template, LocalDateTime scheduledDate);
+    }
+
+    private final JobRepository jobRepository;
+
+    public void expand(UUID userId, LocalDateTime start, LocalDateTime end, OccurrenceSink sink) {
+        List<Job> templates = jobRepository.findRecurringTemplates(userId, end);
+        if (templates.isEmpty()) {
+            return;
+        }
+        LocalDate fromDate = start.toLocalDate();
+        LocalDate toDate = end.toLocalDate().plusDays(1);
+        Set<Long> materialized = materializedKeys(templates, fromDate, toDate);
+
+        for (Job template : templates) {
+            RecurrenceRule rule = RecurrenceRule.parse(template.getRecurrenceRule());
+            long templateId = template.getId();
+            LocalTime time = template.getScheduledDate().toLocalTime();
+            rule.expand(template.getScheduledDate().toLocalDate(), fromDate, toDate, day -> {
+                if (!materialized.isEmpty() && materialized.contains(key(templateId, day))) {
+                    return;
+                }
+                LocalDateTime scheduled = LocalDate.ofEpochDay(day).atTime(time);
+                if (!scheduled.isBefore(start) && scheduled.isBefore(end)) {
+                    sink.accept(template, scheduled);
+                }
+            });
+        }
+    }
+
+    /** Occurrences in [start, end) as unsaved Job instances, ordered by time. */
+    public List<Job> occurrences(UUID userId, LocalDateTime start, LocalDateTime end) {
+        List<Job> occurrences = new ArrayList<>();
+        expand(userId, start, end, (template, scheduled) -> occurrences.add(occurrence(template, scheduled)));
+        occurrences.sort(Comparator.comparing(Job::getScheduledDate));
+        return occurrences;
+    }
+
+    public static Job occurrence(Job template, LocalDateTime scheduledDate) {
+        return Job.builder()
+                .client(template.getClient())
+                .title(template.getTitle())
+                .description(template.getDescription())
+                .address(template.getAddress())
+                .scheduledDate(scheduledDate)
+                .status(template.getStatus())
+                .notes(template.getNotes())
+                .estimatedDurationMinutes(template.getEstimatedDurationMinutes())
+                .latitude(template.getLatitude())
+                .longitude(template.getLongitude())
+                .createdAt(template.getCreatedAt())
+                .recurrenceParentId(template.getId())
+                .occurrenceDate(scheduledDate.toLocalDate())
+                .build();
+    }
+
+    private Set<Long> materializedKeys(List<Job> templates, LocalDate from, LocalDate to) {
+        List<Long> ids = templates.stream().map(Job::getId).toList();
+        Set<Long> keys = new HashSet<>();
+        for (Object[] row : jobRepository.findMaterializedOccurrences(ids, from, to)) {
+            keys.add(key((Long) row[0], ((LocalDate) row[1]).toEpochDay()));
+        }
+        return keys;
+    }
+
+    private static long key(long templateId, long epochDay) {
+        return templateId * 1_000_000L + epochDay;
+    }
+}
@@ -0,0 +1,205 @@
+package com.trademate.features.job;
+
+import com.trademate.features.geo.GeoPoint;
+
+/**
+ * Orders a day's stops to minimise driving time while honouring arrival
+ * windows. Stops are visited in an open path from an optional start point.
+ *
+ * Windows are soft: arriving early waits until the window opens, arriving
+ * late costs LATE_PENALTY per minute, so a route is always returned. The
+ * initial order comes from time-aware nearest neighbour and is improved with
+ * 2-opt and Or-opt moves until no move helps or the time budget runs out.
+ * All times are minutes from midnight; state is kept in primitive arrays.
+ * Instances are single-use and not thread-safe.
+ */
+final class RouteOptimizer {
+
+    static final double LATE_PENALTY = 1_000;
+    private static final double EPSILON = 1e-6;
+    private static final int MAX_SEGMENT = 3;
+
+    private final int n;
+    private final int width;
+    private final double[] travel;
+    private final double[] earliest;
+    private final double[] latest;
+    private final double[] service;
+    private final double dayStart;
+    private final int[] scratch;
+
+    /**
+     * @param startLatitude NaN when the route has no fixed start, in which
+     *                      case the first stop costs no travel
+     */
+    RouteOptimizer(double[] latitudes, double[] longitudes, double startLatitude, double startLongitude,
+            double[] earliest, double[] latest, double[] service, double speedKmh, double dayStart) {
+        this.n = latitudes.length;
+        this.width = n + 1;
+        this.travel = new double[width * width];
+        double minutesPerKm = 60 / speedKmh;
+        boolean hasStart = !Double.isNaN(startLatitude);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double minutes = GeoPoint.haversineKm(latitudes[i], longitudes[i], latitudes[j], longitudes[j])
+                        * minutesPerKm;
+                travel[i * width + j] = minutes;
+                travel[j * width + i] = minutes;
+            }
+            if (hasStart) {
+                travel[n * width + i] = GeoPoint.haversineKm(startLatitude, startLongitude,
+                        latitudes[i], longitudes[i]) * minutesPerKm;
+            }
+        }
+        this.earliest = earliest;
+        this.latest = latest;
+        this.service = service;
+        this.dayStart = dayStart;
+        this.scratch = new int[n];
+    }
+
+    int[] solve(long budgetNanos) {
+        // Compared by difference, so a Long.MAX_VALUE budget runs to convergence instead of overflowing
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] route = nearestNeighbour();
+        double best = cost(route);
+        boolean improved = true;
+        while (improved && System.nanoTime() - deadline < 0) {
+            double twoOpt = twoOpt(route, best, deadline);
+            double orOpt = orOpt(route, twoOpt, deadline);
+            improved = orOpt < best - EPSILON;
+            best = orOpt;
+        }
+        return route;
+    }
+
+    /** Arrival time at each stop of {@code route}, after any waiting. */
+    double[] arrivals(int[] route) {
+        double[] arrivals = new double[route.length];
+        double time = dayStart;
+        int previous = n;
+        for (int k = 0; k < route.length; k++) {
+            int stop = route[k];
+            time = Math.max(time + travel[previous * width + stop], earliest[stop]);
+            arrivals[k] = time;
+            time += service[stop];
+            previous = stop;
+        }
+        return arrivals;
+    }
+
+    double cost(int[] route) {
+        double cost = 0;
+        double time = dayStart;
+        int previous = n;
+        for (int stop : route) {
+            double drive = travel[previous * width + stop];
+            cost += drive;
+            time = Math.max(time + drive, earliest[stop]);
+            if (time > latest[stop]) {
+                cost += LATE_PENALTY * (time - latest[stop]);
+            }
+            time += service[stop];
+            previous = stop;
+        }
+        return cost;
+    }
+
+    private int[] nearestNeighbour() {
+        int[] route = new int[n];
+        boolean[] visited = new boolean[n];
+        double time = dayStart;
+        int previous = n;
+        for (int k = 0; k < n; k++) {
+            int next = -1;
+            double nextScore = Double.MAX_VALUE;
+            for (int stop = 0; stop < n; stop++) {
+                if (visited[stop]) {
+                    continue;
+                }
+                double arrival = Math.max(time + travel[previous * width + stop], earliest[stop]);
+                double score = arrival - time + LATE_PENALTY * Math.max(0, arrival - latest[stop]);
+                if (score < nextScore) {
+                    nextScore = score;
+                    next = stop;
+                }
+            }
+            visited[next] = true;
+            route[k] = next;
+            time = Math.max(time + travel[previous * width + next], earliest[next]) + service[next];
+            previous = next;
+        }
+        return route;
+    }
+
+    /** Reverses route segments while that lowers the cost; returns the new cost. */
+    private double twoOpt(int[] route, double best, long deadline) {
+        for (int i = 0; i < n - 1; i++) {
+            if (System.nanoTime() - deadline > 0) {
+                return best;
+            }
+            for (int j = i + 1; j < n; j++) {
+                reverse(route, i, j);
+                double candidate = cost(route);
+                if (candidate < best - EPSILON) {
+                    best = candidate;
+                } else {
+                    reverse(route, i, j);
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Moves runs of up to MAX_SEGMENT stops elsewhere while that lowers the cost. */
+    private double orOpt(int[] route, double best, long deadline) {
+        for (int length = 1; length <= MAX_SEGMENT; length++) {
+            for (int from = 0; from + length <= n; from++) {
+                if (System.nanoTime() - deadline > 0) {
+                    return best;
+                }
+                for (int to = 0; to <= n - length; to++) {
+                    if (to == from) {
+                        continue;
+                    }
+                    move(route, scratch, from, length, to);
+                    double candidate = cost(scratch);
+                    if (candidate < best - EPSILON) {
+                        best = candidate;
+                        System.arraycopy(scratch, 0, route, 0, n);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes {@code route} into {@code out} with the segment [from, from + length)
+     * removed and reinserted so that it starts at index {@code to}.
+     */
+    private static void move(int[] route, int[] out, int from, int length, int to) {
+        int n = route.length;
+        int k = 0;
+        int source = 0;
+        while (k < n) {
+            if (k == to) {
+                System.arraycopy(route, from, out, k, length);
+                k += length;
+                continue;
+            }
+            if (source == from) {
+                source += length;
+            }
+            out[k++] = route[source++];
+        }
+    }
+
+    private static void reverse(int[] route, int i, int j) {
+        while (i < j) {
+            int tmp = route[i];
+            route[i++] = route[j];
+            route[j--] = tmp;
+        }
+    }
+}
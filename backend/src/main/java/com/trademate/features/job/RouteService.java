@@ -0,0 +1,162 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.geo.Gazetteer;
+import com.trademate.features.geo.GeoPoint;
+import com.trademate.features.job.dto.RoutePlan;
+import com.trademate.features.job.dto.RouteStop;
+import com.trademate.features.job.model.Job;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plans the visiting order for a day's jobs. Jobs still missing coordinates
+ * are geocoded against the local Gazetteer and the result is stored on the
+ * job (or, for recurring occurrences, on their template).
+ *
+ * A job's scheduled time is its target arrival, give or take
+ * app.jobs.route.arrival-window; jobs scheduled at midnight are treated as
+ * "any time that day".
+ */
+@Service
+@RequiredArgsConstructor
+public class RouteService {
+
+    private static final int MAX_STOPS = 500;
+
+    private final JobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final RecurrenceService recurrenceService;
+    private final Gazetteer gazetteer;
+
+    @Value("${app.jobs.route.average-speed-kmh:40}")
+    private double averageSpeedKmh;
+
+    @Value("${app.jobs.route.day-start:07:00}")
+    private LocalTime dayStart;
+
+    @Value("${app.jobs.route.arrival-window:60m}")
+    private Duration arrivalWindow;
+
+    @Value("${app.jobs.conflicts.default-duration:60m}")
+    private Duration defaultDuration;
+
+    @Value("${app.jobs.route.time-budget:80ms}")
+    private Duration timeBudget;
+
+    @Transactional
+    public RoutePlan planRoute(String username, LocalDate date, Double startLatitude, Double startLongitude) {
+        if ((startLatitude == null) != (startLongitude == null)) {
+            throw new IllegalArgumentException("Provide both startLatitude and startLongitude, or neither");
+        }
+        var user = userRepository.findByUsername(username).orElseThrow();
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        List<Job> jobs = new ArrayList<>(jobRepository.findJobsForDateRange(user.getId(), start, end));
+        jobs.removeIf(job -> !job.getScheduledDate().isBefore(end));
+        jobs.addAll(recurrenceService.occurrences(user.getId(), start, end));
+        if (jobs.size() > MAX_STOPS) {
+            throw new IllegalArgumentException("Route planning is limited to " + MAX_STOPS + " jobs per day");
+        }
+
+        List<Job> routable = new ArrayList<>();
+        List<GeoPoint> points = new ArrayList<>();
+        List<RouteStop> unrouted = new ArrayList<>();
+        for (Job job : jobs) {
+            Optional<GeoPoint> point = locate(job);
+            if (point.isPresent()) {
+                routable.add(job);
+                points.add(point.get());
+            } else {
+                unrouted.add(stop(job, null).build());
+            }
+        }
+
+        int n = routable.size();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        double[] earliest = new double[n];
+        double[] latest = new double[n];
+        double[] service = new double[n];
+        double window = arrivalWindow.toMinutes();
+        for (int i = 0; i < n; i++) {
+            Job job = routable.get(i);
+            latitudes[i] = points.get(i).latitude();
+            longitudes[i] = points.get(i).longitude();
+            LocalTime time = job.getScheduledDate().toLocalTime();
+            if (time.equals(LocalTime.MIDNIGHT)) {
+                earliest[i] = 0;
+                latest[i] = Double.MAX_VALUE;
+            } else {
+                double target = time.toSecondOfDay() / 60.0;
+                earliest[i] = target - window;
+                latest[i] = target + window;
+            }
+            Integer minutes = job.getEstimatedDurationMinutes();
+            service[i] = minutes == null ? defaultDuration.toMinutes() : minutes;
+        }
+
+        RouteOptimizer optimizer = new RouteOptimizer(latitudes, longitudes,
+                startLatitude == null ? Double.NaN : startLatitude,
+                startLongitude == null ? Double.NaN : startLongitude,
+                earliest, latest, service, averageSpeedKmh, dayStart.toSecondOfDay() / 60.0);
+        int[] order = optimizer.solve(timeBudget.toNanos());
+        double[] arrivals = optimizer.arrivals(order);
+
+        List<RouteStop> stops = new ArrayList<>(n);
+        double totalKm = 0;
+        GeoPoint previous = startLatitude == null ? null : new GeoPoint(startLatitude, startLongitude);
+        for (int k = 0; k < n; k++) {
+            int index = order[k];
+            GeoPoint point = points.get(index);
+            double km = previous == null ? 0 : previous.distanceKm(point);
+            totalKm += km;
+            stops.add(stop(routable.get(index), point)
+                    .estimatedArrival(start.plusSeconds(Math.round(arrivals[k] * 60)))
+                    .late(arrivals[k] > latest[index])
+                    .distanceFromPreviousKm(km)
+                    .build());
+            previous = point;
+        }
+
+        return RoutePlan.builder()
+                .date(date)
+                .stops(stops)
+                .unrouted(unrouted)
+                .totalDistanceKm(totalKm)
+                .totalDriveMinutes(totalKm / averageSpeedKmh * 60)
+                .build();
+    }
+
+    /** Stored coordinates, or a gazetteer match that is saved for next time. */
+    private Optional<GeoPoint> locate(Job job) {
+        if (job.getLatitude() != null && job.getLongitude() != null) {
+            return Optional.of(new GeoPoint(job.getLatitude(), job.getLongitude()));
+        }
+        Optional<GeoPoint> point = gazetteer.lookup(job.getAddress());
+        Long rowId = job.getId() != null ? job.getId() : job.getRecurrenceParentId();
+        point.ifPresent(p -> jobRepository.updateCoordinates(rowId, p.latitude(), p.longitude()));
+        return point;
+    }
+
+    private static RouteStop.RouteStopBuilder stop(Job job, GeoPoint point) {
+        return RouteStop.builder()
+                .jobId(job.getId())
+                .recurrenceParentId(job.getId() == null ? job.getRecurrenceParentId() : null)
+                .title(job.getTitle())
+                .address(job.getAddress())
+                .latitude(point == null ? null : point.latitude())
+                .longitude(point == null ? null : point.longitude())
+                .scheduledDate(job.getScheduledDate());
+    }
+}
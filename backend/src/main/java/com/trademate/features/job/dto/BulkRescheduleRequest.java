@@ -0,0 +1,18 @@
+package com.trademate.features.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRescheduleRequest {
+    private List<Long> ids;
+    private Duration shift; // ISO-8601, e.g. "PT2H" or "-P1D"
+}
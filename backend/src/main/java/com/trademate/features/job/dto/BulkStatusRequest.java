@@ -0,0 +1,18 @@
+package com.trademate.features.job.dto;
+
+import com.trademate.features.job.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusRequest {
+    private List<Long> ids;
+    private JobStatus status;
+}
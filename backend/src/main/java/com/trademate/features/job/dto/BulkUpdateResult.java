@@ -0,0 +1,16 @@
+package com.trademate.features.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateResult {
+    private List<Long> updatedIds; // requested ids that were missing or already matched are left out
+}
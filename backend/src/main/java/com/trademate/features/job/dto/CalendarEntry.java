@@ -0,0 +1,31 @@
+package com.trademate.features.job.dto;
+
+import com.trademate.features.job.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Compact calendar projection of a job, selected directly by JPQL so no full
+ * Job entity (or its TEXT columns) is loaded.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarEntry implements Serializable {
+    private Long id;
+    private String title;
+    private LocalDateTime scheduledDate;
+    private JobStatus status;
+    private String clientName;
+    private Long recurrenceParentId; // set, with a null id, for occurrences not yet materialized
+
+    public CalendarEntry(Long id, String title, LocalDateTime scheduledDate, JobStatus status, String clientName) {
+        this(id, title, scheduledDate, status, clientName, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.trademate.features.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobConflict {
+    private Long jobId;
+    private Long conflictingJobId;
+    private LocalDateTime overlapStart;
+    private LocalDateTime overlapEnd;
+}
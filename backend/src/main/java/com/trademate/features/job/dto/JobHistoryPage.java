@@ -0,0 +1,18 @@
+package com.trademate.features.job.dto;
+
+import com.trademate.features.job.model.JobEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobHistoryPage {
+    private List<JobEvent> events;
+    private Long nextCursor; // pass as ?before= to fetch older events; null when exhausted
+}
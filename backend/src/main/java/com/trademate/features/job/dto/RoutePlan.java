@@ -0,0 +1,21 @@
+package com.trademate.features.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutePlan {
+    private LocalDate date;
+    private List<RouteStop> stops;
+    private List<RouteStop> unrouted; // no address, or not found in the gazetteer
+    private double totalDistanceKm;
+    private double totalDriveMinutes;
+}
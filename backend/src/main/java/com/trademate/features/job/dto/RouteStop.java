@@ -0,0 +1,25 @@
+package com.trademate.features.job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteStop {
+    private Long jobId;
+    private Long recurrenceParentId; // set, with a null jobId, for occurrences not yet materialized
+    private String title;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime scheduledDate;
+    private LocalDateTime estimatedArrival;
+    private boolean late;
+    private double distanceFromPreviousKm;
+}
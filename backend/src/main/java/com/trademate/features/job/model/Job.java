@@ -7,18 +7,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "jobs")
 @EntityListeners(AuditingEntityListener.class)
 public class Job implements Serializable {
@@ -59,4 +63,29 @@ public class Job implements Serializable {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    // RRULE subset (see RecurrenceRule). Set on templates; occurrences are expanded on read
+    private String recurrenceRule;
+
+    // Set on occurrences of a template, whether materialized rows or expanded on read
+    private Long recurrenceParentId;
+
+    private LocalDate occurrenceDate;
+
+    // Minutes the booking occupies; null uses app.jobs.conflicts.default-duration
+    private Integer estimatedDurationMinutes;
+
+    // Geocoded from address on save (see Gazetteer)
+    private Double latitude;
+
+    private Double longitude;
+
+    // Optimistic lock; exposed as the ETag and checked against If-Match on PUT
+    @Version
+    private Long version;
+
+    // Overlapping jobs found when conflict checks run in WARN mode; not persisted
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonInclude(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
+    private List<Long> conflictingJobIds;
 }
@@ -0,0 +1,30 @@
+package com.trademate.features.job.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of a job's change history. UPDATED and STATUS_CHANGED rows carry a
+ * single field with its old and new values; CREATED and DELETED rows have none.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobEvent {
+    private Long id;
+    private Long jobId;
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private UUID userId;
+    private String actor;
+    private JobEventType type;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,8 @@
+package com.trademate.features.job.model;
+
+public enum JobEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
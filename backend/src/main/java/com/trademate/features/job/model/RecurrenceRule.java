@@ -0,0 +1,226 @@
+package com.trademate.features.job.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Parsed subset of an RFC 5545 RRULE: FREQ (DAILY, WEEKLY, MONTHLY, YEARLY),
+ * INTERVAL, COUNT, UNTIL and, for WEEKLY, BYDAY. Monthly and yearly rules
+ * repeat on the start date's day and skip periods where it does not exist.
+ *
+ * Expansion jumps straight to the requested window and reports occurrences
+ * as epoch days, so it allocates nothing per occurrence.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY
+    }
+
+    private static final int PARSE_CACHE_LIMIT = 10_000;
+    private static final ConcurrentHashMap<String, RecurrenceRule> PARSED = new ConcurrentHashMap<>();
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Set<String> SUPPORTED_PARTS = Set.of("FREQ", "INTERVAL", "COUNT", "UNTIL", "BYDAY");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final int count;
+    private final LocalDate until;
+    private final int byDayMask;
+
+    private RecurrenceRule(Frequency frequency, int interval, int count, LocalDate until, int byDayMask) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDayMask = byDayMask;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        RecurrenceRule parsed = PARSED.get(rule);
+        if (parsed != null) {
+            return parsed;
+        }
+        parsed = doParse(rule);
+        if (PARSED.size() >= PARSE_CACHE_LIMIT) {
+            PARSED.clear();
+        }
+        PARSED.put(rule, parsed);
+        return parsed;
+    }
+
+    private static RecurrenceRule doParse(String rule) {
+        Frequency frequency = null;
+        int interval = 1;
+        int count = 0;
+        LocalDate until = null;
+        int byDayMask = 0;
+        String body = rule.startsWith("RRULE:") ? rule.substring(6) : rule;
+        for (String part : body.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            if (!SUPPORTED_PARTS.contains(name)) {
+                throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+            }
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = LocalDate.parse(value.substring(0, 8), BASIC_DATE);
+                    default -> byDayMask = parseByDay(value);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule requires FREQ");
+        }
+        if (interval < 1 || count < 0) {
+            throw new IllegalArgumentException("INTERVAL must be positive and COUNT non-negative");
+        }
+        if (byDayMask != 0 && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, count, until, byDayMask);
+    }
+
+    private static int parseByDay(String value) {
+        int mask = 0;
+        for (String day : value.split(",")) {
+            int index = switch (day.trim()) {
+                case "MO" -> 0;
+                case "TU" -> 1;
+                case "WE" -> 2;
+                case "TH" -> 3;
+                case "FR" -> 4;
+                case "SA" -> 5;
+                case "SU" -> 6;
+                default -> throw new IllegalArgumentException(day);
+            };
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    /**
+     * Emits the epoch day of every occurrence in [from, to) for a series that
+     * starts on {@code start}. COUNT is honoured relative to {@code start}.
+     */
+    public void expand(LocalDate start, LocalDate from, LocalDate to, LongConsumer sink) {
+        long s = start.toEpochDay();
+        long f = Math.max(from.toEpochDay(), s);
+        long t = to.toEpochDay();
+        if (until != null) {
+            t = Math.min(t, until.toEpochDay() + 1);
+        }
+        if (f >= t) {
+            return;
+        }
+        switch (frequency) {
+            case DAILY -> expandDaily(s, f, t, sink);
+            case WEEKLY -> expandWeekly(start, s, f, t, sink);
+            case MONTHLY -> expandMonthly(start, interval, f, t, sink);
+            case YEARLY -> expandMonthly(start, interval * 12, f, t, sink);
+        }
+    }
+
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        boolean[] found = {false};
+        expand(start, date, date.plusDays(1), day -> found[0] = true);
+        return found[0];
+    }
+
+    private void expandDaily(long s, long f, long t, LongConsumer sink) {
+        for (long k = Math.ceilDiv(f - s, interval); ; k++) {
+            long day = s + k * interval;
+            if (day >= t || (count > 0 && k >= count)) {
+                return;
+            }
+            sink.accept(day);
+        }
+    }
+
+    private void expandWeekly(LocalDate start, long s, long f, long t, LongConsumer sink) {
+        int startDow = start.getDayOfWeek().getValue() - 1;
+        int mask = byDayMask != 0 ? byDayMask : 1 << startDow;
+        int perWeek = Integer.bitCount(mask);
+        int firstWeek = Integer.bitCount(mask & (0x7F << startDow));
+        long w0 = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+
+        long period = Math.ceilDiv(Math.max(0, Math.floorDiv(f - w0, 7)), interval);
+        long emitted = period == 0 ? 0 : firstWeek + (period - 1) * perWeek;
+        for (long p = period; ; p++) {
+            long weekStart = w0 + p * interval * 7;
+            if (weekStart >= t) {
+                return;
+            }
+            for (int dow = 0; dow < 7; dow++) {
+                long day = weekStart + dow;
+                if ((mask & (1 << dow)) == 0 || day < s) {
+                    continue;
+                }
+                if ((count > 0 && emitted >= count) || day >= t) {
+                    return;
+                }
+                emitted++;
+                if (day >= f) {
+                    sink.accept(day);
+                }
+            }
+        }
+    }
+
+    private void expandMonthly(LocalDate start, int monthStep, long f, long t, LongConsumer sink) {
+        YearMonth first = YearMonth.from(start);
+        int dayOfMonth = start.getDayOfMonth();
+        YearMonth windowMonth = YearMonth.from(LocalDate.ofEpochDay(f));
+        long monthsToWindow = Math.max(0, ChronoUnit.MONTHS.between(first, windowMonth));
+        long period = Math.ceilDiv(monthsToWindow, monthStep);
+
+        long emitted = 0;
+        if (count > 0) {
+            for (long p = 0; p < period && emitted < count; p++) {
+                if (first.plusMonths(p * monthStep).isValidDay(dayOfMonth)) {
+                    emitted++;
+                }
+            }
+        }
+        for (long p = period; ; p++) {
+            YearMonth month = first.plusMonths(p * monthStep);
+            if (month.atDay(1).toEpochDay() >= t) {
+                return;
+            }
+            if (!month.isValidDay(dayOfMonth)) {
+                continue;
+            }
+            if (count > 0 && emitted >= count) {
+                return;
+            }
+            emitted++;
+            long day = month.atDay(dayOfMonth).toEpochDay();
+            if (day >= t) {
+                return;
+            }
+            if (day >= f) {
+                sink.accept(day);
+            }
+        }
+    }
+}
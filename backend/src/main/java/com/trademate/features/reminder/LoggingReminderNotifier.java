@@ -0,0 +1,18 @@
+package com.trademate.features.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void send(Reminder reminder) {
+        log.info("Reminder for {}: job {} '{}' at {}{}", reminder.providerUsername(), reminder.jobId(),
+                reminder.title(), reminder.scheduledDate(),
+                reminder.clientEmail() == null ? "" : " (client " + reminder.clientEmail() + ")");
+    }
+}
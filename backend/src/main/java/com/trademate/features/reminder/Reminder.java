@@ -0,0 +1,18 @@
+package com.trademate.features.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder about to be sent. Client fields are null when the job has no
+ * client or client reminders are disabled.
+ */
+public record Reminder(
+        long jobId,
+        String title,
+        String address,
+        LocalDateTime scheduledDate,
+        String providerUsername,
+        String providerEmail,
+        String clientName,
+        String clientEmail) {
+}
@@ -0,0 +1,10 @@
+package com.trademate.features.reminder;
+
+/**
+ * Delivers job reminders. Select the implementation with
+ * app.reminders.notifier (log or smtp).
+ */
+public interface ReminderNotifier {
+
+    void send(Reminder reminder);
+}
@@ -0,0 +1,334 @@
+package com.trademate.features.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends a reminder app.reminders.lead-time before each pending job.
+ *
+ * One node in the cluster leads, holding a session advisory lock on a
+ * dedicated connection. The leader loads the timers due within the next
+ * load-window into a TimerWheel, tops the window up every refresh-interval,
+ * and LISTENs for schedule changes forwarded by ReminderSyncListener. If the
+ * leader dies its connection closes, the lock is released and another node
+ * takes over.
+ *
+ * Due reminders go to send-threads senders through a queue of send-queue
+ * entries, so a burst cannot take more connections than that. A reminder that
+ * is refused by a full queue or fails to send goes back into the wheel after
+ * an exponential backoff from retry-backoff. It is dropped after max-attempts
+ * tries, or when the retry would land after the job starts.
+ *
+ * Session locks and LISTEN need a direct connection. Behind a transaction
+ * pooler (such as the Neon -pooler endpoint) set app.reminders.leader-jdbc-url
+ * to the direct endpoint.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+
+    private static final String LOCK = "SELECT pg_try_advisory_lock(hashtext('trademate.job-reminders'))";
+    private static final String LOAD_WINDOW = """
+            SELECT id, scheduled_date FROM jobs
+            WHERE status = 'PENDING' AND recurrence_rule IS NULL
+              AND scheduled_date > ? AND scheduled_date <= ?
+            """;
+    private static final String PURGE_SENT = "DELETE FROM job_reminders WHERE sent_at < now() - interval '30 days'";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ReminderSender sender;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter dropped;
+    /** Sends that need another attempt, handed back to the leader thread, which owns the wheel. */
+    private final Queue<Attempt> failed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger leader = new AtomicInteger();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.leader-jdbc-url:}")
+    private String leaderJdbcUrl;
+
+    @Value("${app.reminders.lead-time:60m}")
+    private Duration leadTime;
+
+    @Value("${app.reminders.load-window:24h}")
+    private Duration loadWindow;
+
+    @Value("${app.reminders.refresh-interval:10m}")
+    private Duration refreshInterval;
+
+    @Value("${app.reminders.capacity:1048576}")
+    private int capacity;
+
+    @Value("${app.reminders.retry-interval:30s}")
+    private Duration retryInterval;
+
+    @Value("${app.reminders.send-threads:2}")
+    private int sendThreads;
+
+    @Value("${app.reminders.send-queue:1000}")
+    private int sendQueue;
+
+    @Value("${app.reminders.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.reminders.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    private volatile boolean running;
+    private volatile Connection leaderConnection;
+    private Thread worker;
+    private ThreadPoolExecutor executor;
+
+    /** One send of the reminder for the job's scheduled date; attempts count from 1. */
+    private record Attempt(long jobId, LocalDateTime scheduledDate, int attempt) {
+    }
+
+    /** A retry timer in the wheel, by job id and the deadline it was added with. */
+    private record RetryTimer(long jobId, long deadline) {
+    }
+
+    public ReminderScheduler(DataSourceProperties dataSourceProperties, ReminderSender sender,
+            MeterRegistry meterRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.sender = sender;
+        this.rejected = Counter.builder("reminders.timers.rejected")
+                .description("Timers not scheduled because the wheel was full")
+                .register(meterRegistry);
+        this.retried = Counter.builder("reminders.retried")
+                .description("Reminders put back in the wheel after a failed or refused send")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("reminders.dropped")
+                .description("Reminders given up on after their last attempt")
+                .register(meterRegistry);
+        Gauge.builder("reminders.timers.pending", pending, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("reminders.leader", leader, AtomicInteger::get)
+                .description("1 while this node owns reminder delivery")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (loadWindow.plus(leadTime).toSeconds() >= TimerWheel.MAX_DELAY_SECONDS) {
+            throw new IllegalStateException("app.reminders.load-window is beyond the timer wheel's range");
+        }
+        executor = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue),
+                Thread.ofVirtual().name("reminder-sender-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        running = true;
+        worker = Thread.ofVirtual().name("reminder-scheduler").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Connection connection = leaderConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing reminder leader connection", e);
+            }
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = openConnection()) {
+                leaderConnection = connection;
+                if (tryLock(connection)) {
+                    lead(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Reminder scheduler connection failed", e);
+                }
+            } finally {
+                leaderConnection = null;
+                leader.set(0);
+                pending.set(0);
+            }
+            try {
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void lead(Connection connection) throws SQLException {
+        leader.set(1);
+        log.info("This node is now the job reminder leader");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + ReminderSyncListener.CHANNEL);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        LocalDateTime now = LocalDateTime.now();
+        TimerWheel wheel = new TimerWheel(capacity, epochSecond(now));
+        Map<RetryTimer, Attempt> retries = new HashMap<>();
+        failed.clear();
+        LocalDateTime loadedUntil = load(connection, wheel, now, now.plus(leadTime).plus(loadWindow));
+        long nextRefresh = System.nanoTime() + refreshInterval.toNanos();
+
+        while (running) {
+            long untilNextTick = 1000 - System.currentTimeMillis() % 1000;
+            PGNotification[] notifications = pgConnection.getNotifications((int) untilNextTick);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    schedule(wheel, notification.getParameter(), loadedUntil);
+                }
+            }
+            for (Attempt attempt; (attempt = failed.poll()) != null; ) {
+                retry(wheel, retries, attempt);
+            }
+            wheel.advanceTo(epochSecond(LocalDateTime.now()), (jobId, deadline) -> {
+                Attempt attempt = retries.remove(new RetryTimer(jobId, deadline));
+                if (attempt == null) {
+                    LocalDateTime scheduledDate = LocalDateTime.ofInstant(
+                            Instant.ofEpochSecond(deadline).plus(leadTime), zone);
+                    attempt = new Attempt(jobId, scheduledDate, 1);
+                }
+                submit(wheel, retries, attempt);
+            });
+            if (System.nanoTime() >= nextRefresh) {
+                LocalDateTime until = LocalDateTime.now().plus(leadTime).plus(loadWindow);
+                loadedUntil = load(connection, wheel, loadedUntil, until);
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(PURGE_SENT);
+                }
+                nextRefresh = System.nanoTime() + refreshInterval.toNanos();
+            }
+            pending.set(wheel.size());
+        }
+    }
+
+    private void submit(TimerWheel wheel, Map<RetryTimer, Attempt> retries, Attempt attempt) {
+        try {
+            executor.execute(() -> {
+                if (!sender.send(attempt.jobId(), attempt.scheduledDate())) {
+                    failed.add(attempt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            retry(wheel, retries, attempt);
+        }
+    }
+
+    private void retry(TimerWheel wheel, Map<RetryTimer, Attempt> retries, Attempt attempt) {
+        long backoff = retryBackoff.toSeconds() << Math.min(attempt.attempt() - 1, 16);
+        long deadline = epochSecond(LocalDateTime.now()) + backoff;
+        if (attempt.attempt() >= maxAttempts || deadline >= epochSecond(attempt.scheduledDate())) {
+            dropped.increment();
+            log.warn("Giving up on the reminder for job {} after {} attempts", attempt.jobId(), attempt.attempt());
+            return;
+        }
+        if (!wheel.add(attempt.jobId(), deadline)) {
+            rejected.increment();
+            return;
+        }
+        retries.put(new RetryTimer(attempt.jobId(), deadline),
+                new Attempt(attempt.jobId(), attempt.scheduledDate(), attempt.attempt() + 1));
+        retried.increment();
+    }
+
+    /** Adds timers for pending jobs scheduled in (from, to]; returns {@code to}. */
+    private LocalDateTime load(Connection connection, TimerWheel wheel, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(LOAD_WINDOW)) {
+            statement.setFetchSize(10_000);
+            statement.setTimestamp(1, Timestamp.valueOf(from));
+            statement.setTimestamp(2, Timestamp.valueOf(to));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    addTimer(wheel, rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return to;
+    }
+
+    private void schedule(TimerWheel wheel, String payload, LocalDateTime loadedUntil) {
+        int comma = payload.indexOf(',');
+        try {
+            long jobId = Long.parseLong(payload.substring(0, comma));
+            LocalDateTime scheduledDate = LocalDateTime.parse(payload.substring(comma + 1));
+            // Later dates are picked up when the window is topped up
+            if (scheduledDate.isAfter(LocalDateTime.now()) && !scheduledDate.isAfter(loadedUntil)) {
+                addTimer(wheel, jobId, scheduledDate);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed reminder notification '{}'", payload);
+        }
+    }
+
+    private void addTimer(TimerWheel wheel, long jobId, LocalDateTime scheduledDate) {
+        if (!wheel.add(jobId, epochSecond(scheduledDate.minus(leadTime)))) {
+            rejected.increment();
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(LOCK)) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        String url = leaderJdbcUrl.isBlank() ? dataSourceProperties.determineUrl() : leaderJdbcUrl;
+        return DriverManager.getConnection(url, dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+
+    private long epochSecond(LocalDateTime time) {
+        return time.atZone(zone).toEpochSecond();
+    }
+}
@@ -0,0 +1,101 @@
+package com.trademate.features.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Claims and sends due reminders. Each reminder is recorded in job_reminders
+ * before it is handed to the notifier, so a job is reminded at most once per
+ * scheduled date even across leader changes. When the notifier fails the
+ * claim is released so that the scheduler can retry. A timer whose job was
+ * since rescheduled, started, completed or deleted claims nothing.
+ */
+@Slf4j
+@Component
+public class ReminderSender {
+
+    private static final String CLAIM = """
+            WITH claimed AS (
+                INSERT INTO job_reminders (job_id, scheduled_date)
+                SELECT id, scheduled_date FROM jobs
+                WHERE id = ? AND date_trunc('second', scheduled_date) = ? AND status = 'PENDING'
+                ON CONFLICT DO NOTHING
+                RETURNING job_id)
+            SELECT j.id, j.title, j.address, j.scheduled_date, u.username, u.email,
+                   c.name AS client_name, c.email AS client_email
+            FROM claimed
+            JOIN jobs j ON j.id = claimed.job_id
+            JOIN users u ON u.id = j.user_id
+            LEFT JOIN clients c ON c.id = j.client_id
+            """;
+    private static final String RELEASE = "DELETE FROM job_reminders WHERE job_id = ? AND scheduled_date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderNotifier notifier;
+    private final Counter sent;
+    private final Counter failures;
+
+    @Value("${app.reminders.notify-clients:false}")
+    private boolean notifyClients;
+
+    public ReminderSender(JdbcTemplate jdbcTemplate, ReminderNotifier notifier, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifier = notifier;
+        this.sent = Counter.builder("reminders.sent").register(meterRegistry);
+        this.failures = Counter.builder("reminders.failures").register(meterRegistry);
+    }
+
+    /**
+     * Returns false when the reminder should be retried: the claim failed, or
+     * the notifier failed and the claim was released.
+     */
+    public boolean send(long jobId, LocalDateTime scheduledDate) {
+        List<Reminder> claimed;
+        try {
+            claimed = jdbcTemplate.query(CLAIM, (rs, rowNum) -> new Reminder(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("address"),
+                    rs.getTimestamp("scheduled_date").toLocalDateTime(),
+                    rs.getString("username"),
+                    rs.getString("email"),
+                    rs.getString("client_name"),
+                    notifyClients ? rs.getString("client_email") : null),
+                    jobId, Timestamp.valueOf(scheduledDate));
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to claim reminder for job {}", jobId, e);
+            return false;
+        }
+        for (Reminder reminder : claimed) {
+            try {
+                notifier.send(reminder);
+                sent.increment();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Failed to send reminder for job {}", jobId, e);
+                return release(reminder);
+            }
+        }
+        return true;
+    }
+
+    /** A claim that cannot be released stays sent, keeping the at-most-once guarantee. */
+    private boolean release(Reminder reminder) {
+        try {
+            jdbcTemplate.update(RELEASE, reminder.jobId(), Timestamp.valueOf(reminder.scheduledDate()));
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Failed to release reminder claim for job {}, it will not be retried", reminder.jobId(), e);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.trademate.features.reminder;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventListener;
+import com.trademate.shared.events.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Forwards job schedule changes to the reminder leader, whichever node it is
+ * on, with pg_notify ("jobId,scheduledDate"). Notifications are sent when
+ * the dispatcher's transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReminderSyncListener implements DomainEventListener {
+
+    static final String CHANNEL = "job_reminders";
+
+    private static final Set<DomainEventType> JOB_SCHEDULE_EVENTS = Set.of(
+            DomainEventType.JOB_CREATED, DomainEventType.JOB_UPDATED, DomainEventType.JOB_STATUS_CHANGED);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (needsTimer(event)) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {
+                }, CHANNEL, event.aggregateId() + "," + event.payloadString("scheduledDate"));
+            }
+        }
+    }
+
+    /** A pending job that is new, was rescheduled, or has just gone back to PENDING. */
+    private static boolean needsTimer(DomainEvent event) {
+        String scheduledDate = event.payloadString("scheduledDate");
+        if (!JOB_SCHEDULE_EVENTS.contains(event.type()) || scheduledDate == null
+                || !"PENDING".equals(event.payloadString("status"))) {
+            return false;
+        }
+        String previousStatus = event.payloadString("previousStatus");
+        return event.type() == DomainEventType.JOB_CREATED
+                || !scheduledDate.equals(event.payloadString("previousScheduledDate"))
+                || (previousStatus != null && !"PENDING".equals(previousStatus));
+    }
+}
@@ -0,0 +1,51 @@
+package com.trademate.features.reminder;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Sends reminders by email through spring.mail.*. Locally, point it at the
+ * mailhog container (docker compose --profile mail up).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reminders.notifier", havingValue = "smtp")
+public class SmtpReminderNotifier implements ReminderNotifier {
+
+    private static final DateTimeFormatter WHEN = DateTimeFormatter.ofPattern("EEE d MMM 'at' h:mm a");
+
+    private final JavaMailSender mailSender;
+
+    @Value("${app.reminders.mail-from:reminders@trademate.local}")
+    private String from;
+
+    @Override
+    public void send(Reminder reminder) {
+        String when = reminder.scheduledDate().format(WHEN);
+        mailSender.send(message(reminder.providerEmail(),
+                "Upcoming job: " + reminder.title(),
+                "You have \"" + reminder.title() + "\" on " + when
+                        + (reminder.address() == null ? "" : " at " + reminder.address())
+                        + (reminder.clientName() == null ? "" : " for " + reminder.clientName()) + "."));
+        if (reminder.clientEmail() != null) {
+            mailSender.send(message(reminder.clientEmail(),
+                    "Appointment reminder",
+                    "This is a reminder of your appointment \"" + reminder.title() + "\" on " + when + "."));
+        }
+    }
+
+    private SimpleMailMessage message(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+        return message;
+    }
+}
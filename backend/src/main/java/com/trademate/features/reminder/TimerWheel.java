@@ -0,0 +1,145 @@
+package com.trademate.features.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Hashed hierarchical timer wheel: four levels of 64 slots with one-second
+ * ticks, reaching 2^24 seconds (about 194 days) ahead. Timers live in
+ * parallel primitive arrays of fixed capacity, chained per slot, 16 bytes per
+ * timer, all allocated up front. Adding is O(1); each timer is cascaded at
+ * most three times before it fires.
+ *
+ * There is no cancel: callers re-check a timer against current state when it
+ * fires. Not thread-safe; owned by a single thread.
+ */
+final class TimerWheel {
+
+    @FunctionalInterface
+    interface Expiry {
+        void expired(long id, long deadlineEpochSecond);
+    }
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    static final long MAX_DELAY_SECONDS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long baseEpochSecond;
+    private final long[] ids;
+    private final int[] deadlines;
+    private final int[] next;
+    private final int[] heads = new int[LEVELS * SLOTS];
+    private int free;
+    private int size;
+    private int currentTick;
+
+    TimerWheel(int capacity, long startEpochSecond) {
+        this.baseEpochSecond = startEpochSecond;
+        this.ids = new long[capacity];
+        this.deadlines = new int[capacity];
+        this.next = new int[capacity];
+        Arrays.fill(heads, -1);
+        for (int i = 0; i < capacity - 1; i++) {
+            next[i] = i + 1;
+        }
+        if (capacity > 0) {
+            next[capacity - 1] = -1;
+        }
+        this.free = capacity > 0 ? 0 : -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return ids.length;
+    }
+
+    /** Seconds since the epoch up to which ticks have been processed. */
+    long currentEpochSecond() {
+        return baseEpochSecond + currentTick;
+    }
+
+    /**
+     * Schedules {@code id} to expire at {@code deadlineEpochSecond}; a deadline
+     * already passed expires on the next tick. Returns false when the wheel is
+     * full or the deadline is beyond MAX_DELAY_SECONDS.
+     */
+    boolean add(long id, long deadlineEpochSecond) {
+        long delay = deadlineEpochSecond - currentEpochSecond();
+        if (free < 0 || delay >= MAX_DELAY_SECONDS) {
+            return false;
+        }
+        int timer = free;
+        free = next[timer];
+        ids[timer] = id;
+        deadlines[timer] = (int) (deadlineEpochSecond - baseEpochSecond);
+        place(timer);
+        size++;
+        return true;
+    }
+
+    /** Processes every tick up to and including {@code nowEpochSecond}. */
+    void advanceTo(long nowEpochSecond, Expiry expiry) {
+        while (currentEpochSecond() <= nowEpochSecond) {
+            tick(expiry);
+        }
+    }
+
+    private void tick(Expiry expiry) {
+        int index = currentTick & MASK;
+        if (index == 0) {
+            for (int level = 1; level < LEVELS && cascade(level) == 0; level++) {
+                // keep cascading while the higher level has also wrapped
+            }
+        }
+        int timer = heads[index];
+        heads[index] = -1;
+        while (timer >= 0) {
+            int following = next[timer];
+            long id = ids[timer];
+            long deadline = baseEpochSecond + deadlines[timer];
+            next[timer] = free;
+            free = timer;
+            size--;
+            expiry.expired(id, deadline);
+            timer = following;
+        }
+        currentTick++;
+    }
+
+    /** Re-places the timers of the current slot of {@code level}; returns that slot index. */
+    private int cascade(int level) {
+        int index = (currentTick >>> (SLOT_BITS * level)) & MASK;
+        int bucket = level * SLOTS + index;
+        int timer = heads[bucket];
+        heads[bucket] = -1;
+        while (timer >= 0) {
+            int following = next[timer];
+            place(timer);
+            timer = following;
+        }
+        return index;
+    }
+
+    private void place(int timer) {
+        int expires = deadlines[timer];
+        long delay = (long) expires - currentTick;
+        int bucket;
+        if (delay < 0) {
+            bucket = currentTick & MASK;
+        } else if (delay < SLOTS) {
+            bucket = expires & MASK;
+        } else if (delay < 1L << (2 * SLOT_BITS)) {
+            bucket = SLOTS + ((expires >>> SLOT_BITS) & MASK);
+        } else if (delay < 1L << (3 * SLOT_BITS)) {
+            bucket = 2 * SLOTS + ((expires >>> (2 * SLOT_BITS)) & MASK);
+        } else {
+            bucket = 3 * SLOTS + ((expires >>> (3 * SLOT_BITS)) & MASK);
+        }
+        next[timer] = heads[bucket];
+        heads[bucket] = timer;
+    }
+}
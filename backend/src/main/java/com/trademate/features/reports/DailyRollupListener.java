@@ -0,0 +1,123 @@
+package com.trademate.features.reports;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies job and client events to daily_user_rollups as one batch of upserts
+ * per delivery. The upserts run in the outbox dispatcher's transaction, which
+ * also deletes the delivered events, so each event is counted once.
+ *
+ * Days that a {@link DailyRollupRepairer} rebuild already counted an event
+ * for, recorded in daily_rollup_covered_events, are skipped for that event.
+ */
+@Component
+@RequiredArgsConstructor
+public class DailyRollupListener implements DomainEventListener {
+
+    private static final String UPSERT = """
+            INSERT INTO daily_user_rollups (user_id, day, jobs_created, jobs_completed, clients_created)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, day) DO UPDATE SET
+                jobs_created = daily_user_rollups.jobs_created + EXCLUDED.jobs_created,
+                jobs_completed = daily_user_rollups.jobs_completed + EXCLUDED.jobs_completed,
+                clients_created = daily_user_rollups.clients_created + EXCLUDED.clients_created
+            """;
+    private static final String LOCK_APPLY_SHARED =
+            "SELECT pg_advisory_xact_lock_shared(hashtext('" + DailyRollupRepairer.APPLY_LOCK + "'))";
+    private static final String SELECT_COVERED =
+            "SELECT event_id, from_day, to_day FROM daily_rollup_covered_events WHERE event_id IN (:ids)";
+    private static final String DELETE_COVERED = "DELETE FROM daily_rollup_covered_events WHERE event_id IN (:ids)";
+    private static final String COMPLETED = "COMPLETED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        List<DomainEvent> relevant = events.stream()
+                .filter(event -> event.type().name().startsWith("JOB_")
+                        || event.type().name().startsWith("CLIENT_"))
+                .toList();
+        if (relevant.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(LOCK_APPLY_SHARED);
+        Map<Long, List<LocalDate[]>> covered = covered(relevant);
+
+        // day -> {jobs_created, jobs_completed, clients_created}
+        Map<LocalDate, int[]> deltas = new TreeMap<>();
+        for (DomainEvent event : relevant) {
+            List<LocalDate[]> skip = covered.getOrDefault(event.id(), List.of());
+            LocalDate created = event.payloadDateTime("createdAt").toLocalDate();
+            LocalDate occurred = event.occurredAt().toLocalDate();
+            String status = event.payloadString("status");
+            switch (event.type()) {
+                case JOB_CREATED -> {
+                    add(deltas, skip, created, 0, 1);
+                    if (COMPLETED.equals(status)) {
+                        add(deltas, skip, occurred, 1, 1);
+                    }
+                }
+                case JOB_STATUS_CHANGED -> {
+                    String previous = event.payloadString("previousStatus");
+                    if (COMPLETED.equals(status) && !COMPLETED.equals(previous)) {
+                        add(deltas, skip, occurred, 1, 1);
+                    } else if (COMPLETED.equals(previous) && !COMPLETED.equals(status)) {
+                        add(deltas, skip, occurred, 1, -1);
+                    }
+                }
+                case JOB_DELETED -> add(deltas, skip, created, 0, -1);
+                case CLIENT_CREATED -> add(deltas, skip, created, 2, 1);
+                case CLIENT_DELETED -> add(deltas, skip, created, 2, -1);
+                default -> {
+                }
+            }
+        }
+        if (!covered.isEmpty()) {
+            namedJdbcTemplate.update(DELETE_COVERED, Map.of("ids", covered.keySet()));
+        }
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0 && delta[2] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        var userId = events.get(0).userId();
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((day, delta) ->
+                rows.add(new Object[] {userId, Date.valueOf(day), delta[0], delta[1], delta[2]}));
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    /** Rebuilt day ranges [from, to) per event id, for the events a rebuild already counted. */
+    private Map<Long, List<LocalDate[]>> covered(List<DomainEvent> events) {
+        Map<Long, List<LocalDate[]>> covered = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_COVERED, Map.of("ids", events.stream().map(DomainEvent::id).toList()),
+                rs -> {
+                    covered.computeIfAbsent(rs.getLong("event_id"), id -> new ArrayList<>()).add(new LocalDate[] {
+                            rs.getDate("from_day").toLocalDate(), rs.getDate("to_day").toLocalDate()});
+                });
+        return covered;
+    }
+
+    private static void add(Map<LocalDate, int[]> deltas, List<LocalDate[]> skip, LocalDate day, int column,
+            int amount) {
+        for (LocalDate[] range : skip) {
+            if (!day.isBefore(range[0]) && day.isBefore(range[1])) {
+                return;
+            }
+        }
+        deltas.computeIfAbsent(day, d -> new int[3])[column] += amount;
+    }
+}
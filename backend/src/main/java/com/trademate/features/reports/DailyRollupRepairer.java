@@ -0,0 +1,149 @@
+package com.trademate.features.reports;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Recomputes daily_user_rollups from the source tables. At startup an empty
+ * rollup table is backfilled from the first job or client onwards, a month at
+ * a time; every night the last repair-days closed days are rebuilt to correct
+ * any drift. Today is left to the incremental listener.
+ *
+ * Completions come from job_events status changes; completed jobs with no
+ * recorded status change (created completed, or older than the history) count
+ * on their last update. An advisory lock keeps to one node at a time.
+ *
+ * Changes whose events are still in the outbox are already in the source
+ * tables, so each rebuild records those events in daily_rollup_covered_events
+ * from the same snapshot and {@link DailyRollupListener} skips them for the
+ * rebuilt days. A second lock, held shared by the listener, keeps deliveries
+ * from interleaving with a rebuild.
+ */
+@Slf4j
+@Component
+public class DailyRollupRepairer {
+
+    static final String APPLY_LOCK = "trademate.daily-rollups.apply";
+
+    private static final String LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('trademate.daily-rollups'))";
+    private static final String LOCK_APPLY = "SELECT pg_advisory_xact_lock(hashtext('" + APPLY_LOCK + "'))";
+    private static final String PURGE_COVERED = """
+            DELETE FROM daily_rollup_covered_events c
+            WHERE NOT EXISTS (SELECT 1 FROM outbox o WHERE o.id = c.event_id)
+            """;
+    private static final String DELETE_RANGE = "DELETE FROM daily_user_rollups WHERE day >= ? AND day < ?";
+    private static final String REBUILD_RANGE = """
+            WITH covered AS (
+                INSERT INTO daily_rollup_covered_events (event_id, from_day, to_day)
+                SELECT id, :fromDay, :toDay
+                FROM outbox
+                WHERE event_type LIKE 'JOB\\_%' OR event_type LIKE 'CLIENT\\_%'
+                ON CONFLICT DO NOTHING
+            )
+            INSERT INTO daily_user_rollups (user_id, day, jobs_created, jobs_completed, clients_created)
+            SELECT user_id, day, SUM(jobs_created), SUM(jobs_completed), SUM(clients_created)
+            FROM (
+                SELECT user_id, created_at::date AS day, 1 AS jobs_created, 0 AS jobs_completed, 0 AS clients_created
+                FROM (SELECT user_id, created_at FROM jobs UNION ALL SELECT user_id, created_at FROM jobs_archive) j
+                WHERE created_at >= :from AND created_at < :to
+                UNION ALL
+                SELECT user_id, occurred_at::date, 0, CASE WHEN new_value = 'COMPLETED' THEN 1 ELSE -1 END, 0
+                FROM job_events
+                WHERE event_type = 'STATUS_CHANGED' AND (new_value = 'COMPLETED' OR old_value = 'COMPLETED')
+                  AND occurred_at >= :from AND occurred_at < :to
+                UNION ALL
+                SELECT user_id, COALESCE(updated_at, created_at)::date, 0, 1, 0
+                FROM (SELECT id, user_id, status, created_at, updated_at FROM jobs
+                      UNION ALL
+                      SELECT id, user_id, status, created_at, updated_at FROM jobs_archive) j
+                WHERE status = 'COMPLETED'
+                  AND COALESCE(updated_at, created_at) >= :from AND COALESCE(updated_at, created_at) < :to
+                  AND NOT EXISTS (SELECT 1 FROM job_events e
+                                  WHERE e.job_id = j.id AND e.event_type = 'STATUS_CHANGED')
+                UNION ALL
+                SELECT user_id, created_at::date, 0, 0, 1
+                FROM clients
+                WHERE created_at >= :from AND created_at < :to
+            ) changes
+            GROUP BY user_id, day
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.reports.rollups.repair-days:7}")
+    private int repairDays;
+
+    public DailyRollupRepairer(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM daily_user_rollups)", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return;
+        }
+        Thread.ofVirtual().name("rollup-backfill").start(() -> {
+            Date first = jdbcTemplate.queryForObject("""
+                    SELECT LEAST((SELECT MIN(created_at) FROM jobs), (SELECT MIN(created_at) FROM jobs_archive),
+                                 (SELECT MIN(created_at) FROM clients))::date
+                    """, Date.class);
+            if (first == null) {
+                return;
+            }
+            LocalDate today = LocalDate.now();
+            for (LocalDate month = first.toLocalDate().withDayOfMonth(1); month.isBefore(today);
+                    month = month.plusMonths(1)) {
+                LocalDate end = month.plusMonths(1).isAfter(today) ? today : month.plusMonths(1);
+                rebuild(month, end);
+            }
+            log.info("Backfilled daily rollups from {}", first);
+        });
+    }
+
+    @Scheduled(cron = "${app.reports.rollups.repair-cron:0 15 2 * * *}")
+    public void repairRecentDays() {
+        LocalDate today = LocalDate.now();
+        if (rebuild(today.minusDays(repairDays), today)) {
+            log.info("Rebuilt daily rollups for the {} days before {}", repairDays, today);
+        }
+    }
+
+    /** Rebuilds days in [from, to); false if another node holds the lock. */
+    private boolean rebuild(LocalDate from, LocalDate to) {
+        Boolean done = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK, Boolean.class))) {
+                return false;
+            }
+            jdbcTemplate.execute(LOCK_APPLY);
+            jdbcTemplate.update(PURGE_COVERED);
+            jdbcTemplate.update(DELETE_RANGE, Date.valueOf(from), Date.valueOf(to));
+            namedJdbcTemplate.update(REBUILD_RANGE, Map.of(
+                    "from", Timestamp.valueOf(from.atStartOfDay()),
+                    "to", Timestamp.valueOf(to.atStartOfDay()),
+                    "fromDay", Date.valueOf(from),
+                    "toDay", Date.valueOf(to)));
+            return true;
+        });
+        return Boolean.TRUE.equals(done);
+    }
+}
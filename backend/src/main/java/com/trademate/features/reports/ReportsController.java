@@ -0,0 +1,35 @@
+package com.trademate.features.reports;
+
+import com.trademate.features.reports.dto.TimeseriesPoint;
+import com.trademate.features.reports.model.ReportGranularity;
+import com.trademate.features.reports.model.ReportMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportsController {
+
+    private final ReportsService reportsService;
+
+    @GetMapping("/timeseries")
+    public ResponseEntity<List<TimeseriesPoint>> getTimeseries(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportsService.getTimeseries(userDetails.getUsername(),
+                ReportMetric.valueOf(metric.toUpperCase(Locale.ROOT)),
+                ReportGranularity.valueOf(granularity.toUpperCase(Locale.ROOT)),
+                from, to));
+    }
+}
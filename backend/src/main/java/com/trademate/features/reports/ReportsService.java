@@ -0,0 +1,77 @@
+package com.trademate.features.reports;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.reports.dto.TimeseriesPoint;
+import com.trademate.features.reports.model.ReportGranularity;
+import com.trademate.features.reports.model.ReportMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chart data read only from daily_user_rollups, so the cost depends on the
+ * requested range and never on how much history an account has.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportsService {
+
+    private static final int MAX_POINTS = 400;
+    private static final int DEFAULT_POINTS = 12;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    /**
+     * One point per period in [from, to], zero-filled. Without {@code from}
+     * and {@code to}, returns the last 12 periods up to today.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeseriesPoint> getTimeseries(String username, ReportMetric metric, ReportGranularity granularity,
+            LocalDate from, LocalDate to) {
+        LocalDate last = granularity.periodStart(to == null ? LocalDate.now() : to);
+        LocalDate first = from != null ? granularity.periodStart(from) : defaultStart(granularity, last);
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = first; !period.isAfter(last); period = granularity.next(period)) {
+            if (periods.size() == MAX_POINTS) {
+                throw new IllegalArgumentException("Range is limited to " + MAX_POINTS + " periods");
+            }
+            periods.add(period);
+        }
+
+        var user = userRepository.findByUsername(username).orElseThrow();
+        String sql = "SELECT day, " + metric.column() + " AS value FROM daily_user_rollups "
+                + "WHERE user_id = ? AND day >= ? AND day < ?";
+        Map<LocalDate, Long> totals = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            LocalDate period = granularity.periodStart(rs.getDate("day").toLocalDate());
+            totals.merge(period, rs.getLong("value"), Long::sum);
+        }, user.getId(), Date.valueOf(first), Date.valueOf(granularity.next(last)));
+
+        return periods.stream()
+                .map(period -> TimeseriesPoint.builder()
+                        .period(period)
+                        .value(totals.getOrDefault(period, 0L))
+                        .build())
+                .toList();
+    }
+
+    private static LocalDate defaultStart(ReportGranularity granularity, LocalDate last) {
+        return switch (granularity) {
+            case DAY -> last.minusDays(DEFAULT_POINTS - 1);
+            case WEEK -> last.minusWeeks(DEFAULT_POINTS - 1);
+            case MONTH -> last.minusMonths(DEFAULT_POINTS - 1);
+        };
+    }
+}
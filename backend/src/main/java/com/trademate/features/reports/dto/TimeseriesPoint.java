@@ -0,0 +1,17 @@
+package com.trademate.features.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeseriesPoint {
+    private LocalDate period;
+    private long value;
+}
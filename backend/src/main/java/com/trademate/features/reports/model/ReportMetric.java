@@ -0,0 +1,18 @@
+package com.trademate.features.reports.model;
+
+public enum ReportMetric {
+    JOBS_CREATED("jobs_created"),
+    JOBS_COMPLETED("jobs_completed"),
+    CLIENTS_CREATED("clients_created");
+
+    private final String column;
+
+    ReportMetric(String column) {
+        this.column = column;
+    }
+
+    /** Column of daily_user_rollups holding this metric. */
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,252 @@
+package com.trademate.shared.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache decorator that makes {@link #get(Object, Callable)} single-flight per
+ * key: on a miss one caller runs the loader and concurrent callers for the
+ * same key wait for its result instead of running it again. That is the call
+ * {@code @Cacheable(sync = true)} and direct users of Cache make.
+ *
+ * With a grace period (stale-while-revalidate) the last value this node saw
+ * for a key is kept locally; a miss within the grace period of that sighting
+ * returns it at once and reloads in the background. For a
+ * {@link GenerationalKey} the value seen at an earlier generation counts, so
+ * bumping a user's generation is served stale-while-revalidate like an evict.
+ *
+ * A load that is overtaken by an evict on this node is not written back, so
+ * it cannot re-cache data older than the eviction. Evictions made on other
+ * nodes are not seen here.
+ *
+ * Keys loaded ahead of demand can be marked with {@link #markPrefetched};
+ * their first read, eviction or miss is counted as cache.prefetch.outcome.
+ */
+@Slf4j
+public class CoalescingCache implements Cache {
+
+    private record Seen(Object value, long atNanos) {
+    }
+
+    private static final int PREFETCH_TRACKING_LIMIT = 10_000;
+
+    private final Cache delegate;
+    private final long graceNanos;
+    private final int staleMaxEntries;
+    private final Executor refreshExecutor;
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Seen> lastSeen = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Object> prefetched = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter staleServed;
+    private final Counter prefetchUsed;
+    private final Counter prefetchEvicted;
+    private final Counter prefetchExpired;
+
+    public CoalescingCache(Cache delegate, Duration grace, int staleMaxEntries, Executor refreshExecutor,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.graceNanos = grace.toNanos();
+        this.staleMaxEntries = staleMaxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.loads = counter(meterRegistry, "cache.coalescing.loads", delegate.getName());
+        this.coalesced = counter(meterRegistry, "cache.coalescing.waits", delegate.getName());
+        this.staleServed = counter(meterRegistry, "cache.coalescing.stale.served", delegate.getName());
+        this.prefetchUsed = prefetchCounter(meterRegistry, delegate.getName(), "used");
+        this.prefetchEvicted = prefetchCounter(meterRegistry, delegate.getName(), "evicted");
+        this.prefetchExpired = prefetchCounter(meterRegistry, delegate.getName(), "expired");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String cache) {
+        return Counter.builder(name).tag("cache", cache).register(meterRegistry);
+    }
+
+    private static Counter prefetchCounter(MeterRegistry meterRegistry, String cache, String outcome) {
+        return Counter.builder("cache.prefetch.outcome")
+                .description("First thing that happened to a prefetched entry: read, evicted, or gone on read")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Tracks {@code key}, just loaded ahead of demand, until it is first read or dropped. */
+    public void markPrefetched(Object key) {
+        if (prefetched.size() >= PREFETCH_TRACKING_LIMIT) {
+            prefetched.clear();
+        }
+        prefetched.put(unversioned(key), key);
+    }
+
+    private void settlePrefetch(Object key, Counter outcome) {
+        if (prefetched.isEmpty()) {
+            return;
+        }
+        Object marked = prefetched.remove(unversioned(key));
+        if (marked != null) {
+            // A later generation of the key means the prefetched entry was invalidated unread
+            (marked.equals(key) ? outcome : prefetchEvicted).increment();
+        }
+    }
+
+    private static Object unversioned(Object key) {
+        return key instanceof GenerationalKey generational ? generational.unversioned() : key;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            remember(key, wrapper.get());
+        }
+        settlePrefetch(key, wrapper != null ? prefetchUsed : prefetchExpired);
+        return wrapper;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value != null) {
+            remember(key, value);
+        }
+        settlePrefetch(key, value != null ? prefetchUsed : prefetchExpired);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        if (graceNanos > 0) {
+            Seen seen = lastSeen.get(unversioned(key));
+            if (seen != null && System.nanoTime() - seen.atNanos() <= graceNanos) {
+                staleServed.increment();
+                refreshInBackground(key, valueLoader);
+                return (T) seen.value();
+            }
+        }
+        return (T) await(key, load(key, valueLoader, Runnable::run));
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader) {
+        load(key, valueLoader, refreshExecutor).exceptionally(e -> {
+            log.warn("Background refresh of {} in cache {} failed", key, getName(), e);
+            return null;
+        });
+    }
+
+    /** Joins the load in flight for {@code key}, or starts one on {@code executor}. */
+    private CompletableFuture<Object> load(Object key, Callable<?> valueLoader, Executor executor) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        loads.increment();
+        executor.execute(() -> {
+            try {
+                Object value = valueLoader.call();
+                // Skip the write if an evict or clear replaced this flight meanwhile
+                if (inFlight.remove(key, flight)) {
+                    delegate.put(key, value);
+                    remember(key, value);
+                }
+                flight.complete(value);
+            } catch (Throwable e) {
+                inFlight.remove(key, flight);
+                flight.completeExceptionally(e);
+            }
+        });
+        return flight;
+    }
+
+    private Object await(Object key, CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ValueRetrievalException(key, null, cause);
+        }
+    }
+
+    private void remember(Object key, Object value) {
+        if (graceNanos <= 0) {
+            return;
+        }
+        if (lastSeen.size() >= staleMaxEntries) {
+            lastSeen.clear();
+        }
+        lastSeen.put(unversioned(key), new Seen(value, System.nanoTime()));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        remember(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    /** Stale copies survive an evict: serving them within the grace period is the point. */
+    @Override
+    public void evict(Object key) {
+        settlePrefetch(key, prefetchEvicted);
+        inFlight.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        settlePrefetch(key, prefetchEvicted);
+        inFlight.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        prefetched.clear();
+        inFlight.clear();
+        lastSeen.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        prefetched.clear();
+        inFlight.clear();
+        lastSeen.clear();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,55 @@
+package com.trademate.shared.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/** Wraps every cache of the delegate manager in a {@link CoalescingCache}. */
+public class CoalescingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Duration> graceByCache;
+    private final int staleMaxEntries;
+    private final Executor refreshExecutor;
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final ConcurrentHashMap<String, CoalescingCache> caches = new ConcurrentHashMap<>();
+
+    public CoalescingCacheManager(CacheManager delegate, Map<String, Duration> graceByCache, int staleMaxEntries,
+            Executor refreshExecutor, Supplier<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.graceByCache = graceByCache;
+        this.staleMaxEntries = staleMaxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CoalescingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new CoalescingCache(target,
+                graceByCache.getOrDefault(n, Duration.ZERO), staleMaxEntries, refreshExecutor, meterRegistry.get()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,50 @@
+package com.trademate.shared.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decorates the application's CacheManager so every cache coalesces
+ * concurrent loads of the same key (see {@link CoalescingCache}); this covers
+ * any {@code @Cacheable(sync = true)} without touching its declaration.
+ *
+ * Stale-while-revalidate is enabled per cache with
+ * {@code app.cache.stale-while-revalidate.<cacheName>=<grace>}.
+ */
+@Component
+public class CoalescingCachePostProcessor implements BeanPostProcessor {
+
+    private final Map<String, Duration> graceByCache;
+    private final int staleMaxEntries;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ExecutorService refreshExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+
+    public CoalescingCachePostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        this.graceByCache = binder.bind("app.cache.stale-while-revalidate",
+                Bindable.mapOf(String.class, Duration.class)).orElse(Map.of());
+        this.staleMaxEntries = binder.bind("app.cache.stale-max-entries", Integer.class).orElse(10_000);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof CacheManager cacheManager && !(bean instanceof CoalescingCacheManager)) {
+            return new CoalescingCacheManager(cacheManager, graceByCache, staleMaxEntries, refreshExecutor,
+                    meterRegistry::getObject);
+        }
+        return bean;
+    }
+}
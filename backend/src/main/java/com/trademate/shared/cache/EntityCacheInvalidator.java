@@ -0,0 +1,213 @@
+package com.trademate.shared.cache;
+
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.model.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps this node's Hibernate second-level cache in step with writes made
+ * anywhere: triggers on users and clients pg_notify "table:id" on commit
+ * (V15), and this LISTENs on a dedicated connection and evicts those rows.
+ *
+ * Notifications sent while the connection is down are lost, so the regions
+ * are cleared whenever listening (re)starts. A read on this node that began
+ * before a remote commit can still re-cache the old row after the eviction,
+ * and so can a read routed to a replica that has not replayed the commit yet.
+ * With a replica configured each row is therefore evicted again once the
+ * read-your-writes window, the lag the replica is expected to stay within,
+ * has passed. Anything re-cached later than that, such as from a replica
+ * lagging further, stays until the region expiry in application.conf.
+ */
+@Slf4j
+@Component
+public class EntityCacheInvalidator {
+
+    static final String CHANNEL = "entity_cache";
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final Cache cache;
+    private final Counter invalidations;
+    private final AtomicInteger listening = new AtomicInteger();
+    // Rows to evict again once a lagging replica has caught up, in due order; worker thread only
+    private final ArrayDeque<Recheck> rechecks = new ArrayDeque<>();
+
+    private record Recheck(long dueNanos, String payload) {
+    }
+
+    @Value("${app.jpa.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jpa.cache.invalidation.jdbc-url:}")
+    private String jdbcUrl;
+
+    @Value("${app.jpa.cache.invalidation.retry-interval:5s}")
+    private Duration retryInterval;
+
+    @Value("${app.datasource.replica.jdbc-url:}")
+    private String replicaJdbcUrl;
+
+    @Value("${app.datasource.replica.read-your-writes-window:5s}")
+    private Duration replicaLag;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread worker;
+
+    public EntityCacheInvalidator(DataSourceProperties dataSourceProperties, EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.invalidations = Counter.builder("entity.cache.invalidations")
+                .description("Second-level cache entries evicted on notification from the database")
+                .register(meterRegistry);
+        Gauge.builder("entity.cache.invalidation.listening", listening, AtomicInteger::get)
+                .description("1 while this node receives invalidations; 0 means it may serve stale rows")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("entity-cache-invalidator").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Error closing cache invalidation connection", e);
+            }
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection current = openConnection()) {
+                connection = current;
+                listen(current);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation connection failed", e);
+                }
+            } finally {
+                connection = null;
+                listening.set(0);
+            }
+            try {
+                Thread.sleep(retryInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection current) throws SQLException {
+        try (Statement statement = current.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        // Anything changed while we were not listening is unknown
+        evictAll();
+        listening.set(1);
+        PGConnection pgConnection = current.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis());
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    String payload = notification.getParameter();
+                    if (evict(payload)) {
+                        invalidations.increment();
+                        if (!replicaJdbcUrl.isBlank()) {
+                            rechecks.add(new Recheck(System.nanoTime() + replicaLag.toNanos(), payload));
+                        }
+                    }
+                }
+            } else if (rechecks.isEmpty() && !current.isValid(5)) {
+                throw new SQLException("Cache invalidation connection is no longer valid");
+            }
+            long now = System.nanoTime();
+            while (!rechecks.isEmpty() && now - rechecks.peek().dueNanos() >= 0) {
+                evict(rechecks.poll().payload());
+            }
+        }
+    }
+
+    /** Waits no longer than the next recheck; 0 would wait indefinitely. */
+    private int pollTimeoutMillis() {
+        Recheck next = rechecks.peek();
+        if (next == null) {
+            return POLL_TIMEOUT_MILLIS;
+        }
+        long remaining = TimeUnit.NANOSECONDS.toMillis(next.dueNanos() - System.nanoTime());
+        return (int) Math.max(1, Math.min(POLL_TIMEOUT_MILLIS, remaining));
+    }
+
+    /** Evicts the row a "table:id" payload names; false if it is not a cached table or malformed. */
+    private boolean evict(String payload) {
+        int colon = payload.indexOf(':');
+        try {
+            String id = payload.substring(colon + 1);
+            switch (payload.substring(0, colon)) {
+                case "users" -> {
+                    cache.evictEntityData(User.class, UUID.fromString(id));
+                    // The natural-id region is keyed by username, which the payload does not carry
+                    cache.evictNaturalIdData(User.class);
+                }
+                case "clients" -> cache.evictEntityData(Client.class, Long.parseLong(id));
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation '{}'", payload);
+            return false;
+        }
+    }
+
+    private void evictAll() {
+        cache.evictEntityData(User.class);
+        cache.evictNaturalIdData(User.class);
+        cache.evictEntityData(Client.class);
+    }
+
+    private Connection openConnection() throws SQLException {
+        String url = jdbcUrl.isBlank() ? dataSourceProperties.determineUrl() : jdbcUrl;
+        return DriverManager.getConnection(url, dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+}
@@ -0,0 +1,21 @@
+package com.trademate.shared.cache;
+
+import org.springframework.cache.interceptor.SimpleKey;
+
+/**
+ * Cache key for per-user data, carrying the user's cache generation (see
+ * {@link UserCacheGenerations}). Bumping the generation makes every key built
+ * before it unreachable; those entries are left to expire by TTL.
+ */
+public record GenerationalKey(String username, long generation, Object key) {
+
+    /** The same key at any generation, so a miss can find the previous generation's value. */
+    public Object unversioned() {
+        return new SimpleKey(username, key);
+    }
+
+    @Override
+    public String toString() {
+        return username + ":" + generation + ":" + key;
+    }
+}
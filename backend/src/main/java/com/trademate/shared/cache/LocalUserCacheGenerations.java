@@ -0,0 +1,47 @@
+package com.trademate.shared.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserCacheGenerations held on this node. Generations come from one sequence
+ * seeded from the clock, so they do not repeat across restarts even when the
+ * cache outlives the node. Holds at most max-entries users; when full, all
+ * are forgotten and moved to a fresh shared generation, which is the same as
+ * a cache flush.
+ *
+ * Other nodes never see these bumps, so this is only for a single node; it is
+ * the default unless the cache itself is Redis.
+ */
+@Component
+@ConditionalOnExpression("'${app.cache.generations.store:}' == 'local' "
+        + "or ('${app.cache.generations.store:}' == '' and '${spring.cache.type:}' != 'redis')")
+public class LocalUserCacheGenerations implements UserCacheGenerations {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private volatile long initial = sequence.get();
+
+    public LocalUserCacheGenerations(@Value("${app.cache.generations.local.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public long current(String username) {
+        return generations.getOrDefault(username, initial);
+    }
+
+    @Override
+    public void bump(String username) {
+        if (generations.size() >= maxEntries) {
+            initial = sequence.incrementAndGet();
+            generations.clear();
+        }
+        generations.put(username, sequence.incrementAndGet());
+    }
+}
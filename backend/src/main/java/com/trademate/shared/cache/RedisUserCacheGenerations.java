@@ -0,0 +1,101 @@
+package com.trademate.shared.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UserCacheGenerations shared by every node through Redis: a bump is one INCR.
+ * Reads are kept locally for local-ttl, so another node may serve the
+ * previous generation for that long after a write; the writing node sees the
+ * new one at once.
+ *
+ * Counters expire after key-ttl without a write. That must be well above the
+ * cache TTL: a counter that restarts from zero may only reuse generations
+ * whose entries are long gone.
+ *
+ * While Redis cannot be read, every lookup gets a random negative generation
+ * that no counter reaches, so per-user caches miss rather than serve entries
+ * a failed bump should have invalidated.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${app.cache.generations.store:}' == 'redis' "
+        + "or ('${app.cache.generations.store:}' == '' and '${spring.cache.type:}' == 'redis')")
+public class RedisUserCacheGenerations implements UserCacheGenerations {
+
+    private static final String PREFIX = "cachegen:";
+
+    private record Seen(long generation, long atNanos) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final long localTtlNanos;
+    private final Duration keyTtl;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Seen> seen = new ConcurrentHashMap<>();
+    private final Counter bumpFailures;
+    private final Counter readFailures;
+
+    public RedisUserCacheGenerations(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            @Value("${app.cache.generations.redis.local-ttl:1s}") Duration localTtl,
+            @Value("${app.cache.generations.redis.key-ttl:7d}") Duration keyTtl,
+            @Value("${app.cache.generations.local.max-entries:100000}") int maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.localTtlNanos = localTtl.toNanos();
+        this.keyTtl = keyTtl;
+        this.maxEntries = maxEntries;
+        this.bumpFailures = Counter.builder("cache.generations.bump.failures").register(meterRegistry);
+        this.readFailures = Counter.builder("cache.generations.read.failures").register(meterRegistry);
+    }
+
+    @Override
+    public long current(String username) {
+        Seen local = seen.get(username);
+        if (local != null && System.nanoTime() - local.atNanos() < localTtlNanos) {
+            return local.generation();
+        }
+        String value;
+        try {
+            value = redisTemplate.opsForValue().get(PREFIX + username);
+        } catch (RuntimeException e) {
+            readFailures.increment();
+            log.warn("Failed to read cache generation of {}, bypassing their cached data: {}", username,
+                    e.toString());
+            return ThreadLocalRandom.current().nextLong(Long.MIN_VALUE, 0);
+        }
+        long generation = value == null ? 0 : Long.parseLong(value);
+        remember(username, generation);
+        return generation;
+    }
+
+    /** Runs after the write committed, so a Redis failure is logged rather than failing the request. */
+    @Override
+    public void bump(String username) {
+        try {
+            Long generation = redisTemplate.opsForValue().increment(PREFIX + username);
+            redisTemplate.expire(PREFIX + username, keyTtl);
+            remember(username, generation == null ? 0 : generation);
+        } catch (RuntimeException e) {
+            seen.remove(username);
+            bumpFailures.increment();
+            log.warn("Failed to bump cache generation of {}, their cached data may be stale until it expires",
+                    username, e);
+        }
+    }
+
+    private void remember(String username, long generation) {
+        if (seen.size() >= maxEntries) {
+            seen.clear();
+        }
+        seen.put(username, new Seen(generation, System.nanoTime()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.trademate.shared.cache;
+
+/**
+ * Per-user cache generation counters. Every per-user cache key embeds the
+ * current generation, so invalidating everything cached for a user is a
+ * single increment rather than a scan for their keys.
+ */
+public interface UserCacheGenerations {
+
+    long current(String username);
+
+    /** Moves the user to a generation no cached key uses yet. */
+    void bump(String username);
+
+    default GenerationalKey key(String username, Object key) {
+        return new GenerationalKey(username, current(username), key);
+    }
+}
@@ -0,0 +1,32 @@
+package com.trademate.shared.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Key generator for per-user {@code @Cacheable} methods whose first argument
+ * is the username: the key is the remaining arguments (as the default
+ * generator would build them) at the user's current cache generation.
+ */
+@Component(UserGenerationKeyGenerator.NAME)
+@RequiredArgsConstructor
+public class UserGenerationKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "userGenerationKeyGenerator";
+
+    private final UserCacheGenerations userCacheGenerations;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length == 0 || !(params[0] instanceof String username)) {
+            throw new IllegalStateException(method + " must take the username as its first argument");
+        }
+        return userCacheGenerations.key(username,
+                SimpleKeyGenerator.generateKey(Arrays.copyOfRange(params, 1, params.length)));
+    }
+}
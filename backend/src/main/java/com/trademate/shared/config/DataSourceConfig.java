@@ -0,0 +1,107 @@
+package com.trademate.shared.config;
+
+import com.trademate.shared.datasource.AdmissionControlledDataSource;
+import com.trademate.shared.datasource.ReadYourWritesTracker;
+import com.trademate.shared.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Connection pools.
+ * The primary pool is always present and owns migrations. When
+ * APP_DATASOURCE_REPLICA_JDBC_URL is set, a second "replica" pool is created and
+ * read-only transactions are routed to it (see ReplicaRoutingDataSource).
+ * Application access goes through AdmissionControlledDataSource, which sheds
+ * load with 503s instead of letting requests queue on the pools.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${app.datasource.admission.enabled:true}")
+    private boolean admissionEnabled;
+
+    @Value("${app.datasource.admission.read.max-concurrent:6}")
+    private int readMaxConcurrent;
+
+    @Value("${app.datasource.admission.read.max-queue:200}")
+    private int readMaxQueue;
+
+    @Value("${app.datasource.admission.read.max-wait:2s}")
+    private Duration readMaxWait;
+
+    @Value("${app.datasource.admission.write.max-concurrent:4}")
+    private int writeMaxConcurrent;
+
+    @Value("${app.datasource.admission.write.max-queue:100}")
+    private int writeMaxQueue;
+
+    @Value("${app.datasource.admission.write.max-wait:3s}")
+    private Duration writeMaxWait;
+
+    @Value("${app.datasource.admission.background.max-concurrent:2}")
+    private int backgroundMaxConcurrent;
+
+    @Value("${app.datasource.admission.background.max-queue:1000}")
+    private int backgroundMaxQueue;
+
+    @Value("${app.datasource.admission.background.max-wait:30s}")
+    private Duration backgroundMaxWait;
+
+    @Value("${app.datasource.admission.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        DataSource target = replica == null
+                ? primaryDataSource
+                : new ReplicaRoutingDataSource(primaryDataSource, replica, readYourWritesTracker, meterRegistry);
+        if (admissionEnabled) {
+            target = new AdmissionControlledDataSource(target,
+                    new AdmissionControlledDataSource.Budget(readMaxConcurrent, readMaxQueue, readMaxWait),
+                    new AdmissionControlledDataSource.Budget(writeMaxConcurrent, writeMaxQueue, writeMaxWait),
+                    new AdmissionControlledDataSource.Budget(backgroundMaxConcurrent, backgroundMaxQueue,
+                            backgroundMaxWait),
+                    retryAfter, meterRegistry);
+        }
+        return target == primaryDataSource ? primaryDataSource : new LazyConnectionDataSourceProxy(target);
+    }
+}
@@ -0,0 +1,13 @@
+package com.trademate.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background maintenance (partition upkeep, archival).
+ * Runs on virtual threads when spring.threads.virtual.enabled=true.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
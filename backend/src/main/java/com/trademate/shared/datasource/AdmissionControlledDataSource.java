@@ -0,0 +1,185 @@
+package com.trademate.shared.datasource;
+
+import com.trademate.shared.exception.ConnectionAdmissionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits at most max-concurrent connection holders per class (read-only
+ * transactions, other request work, and background work), lets at most
+ * max-queue more wait, each for at most max-wait, and rejects the rest at once
+ * with ConnectionAdmissionException (503). With virtual threads this replaces
+ * an unbounded pile-up on the pool's connection-timeout with fast load
+ * shedding, and the separate budgets keep a burst of reads from starving
+ * writes.
+ *
+ * Work on a thread that is not serving an HTTP request (outbox dispatch,
+ * history flushes, reminders, scheduled maintenance, cache refreshes) uses
+ * the background budget whatever its read-only flag, so it neither takes
+ * request permits nor is shed by a request burst.
+ *
+ * A permit is held from getConnection until the connection is closed. Must
+ * sit behind a LazyConnectionDataSourceProxy so the transaction's read-only
+ * flag is known when the connection is requested.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    public record Budget(int maxConcurrent, int maxQueue, Duration maxWait) {
+    }
+
+    private static final class Gate {
+        final Budget budget;
+        final Semaphore permits;
+        final AtomicInteger waiting = new AtomicInteger();
+        final Timer waitTime;
+        final Counter queueFull;
+        final Counter timedOut;
+
+        Gate(String type, Budget budget, MeterRegistry registry) {
+            this.budget = budget;
+            this.permits = new Semaphore(budget.maxConcurrent(), true);
+            this.waitTime = Timer.builder("datasource.admission.wait")
+                    .description("Time spent waiting for a connection permit")
+                    .tag("type", type)
+                    .register(registry);
+            this.queueFull = rejected(registry, type, "queue-full");
+            this.timedOut = rejected(registry, type, "timeout");
+            Gauge.builder("datasource.admission.queued", waiting, AtomicInteger::get)
+                    .description("Requests waiting for a connection permit")
+                    .tag("type", type)
+                    .register(registry);
+            Gauge.builder("datasource.admission.active", permits,
+                            p -> budget.maxConcurrent() - p.availablePermits())
+                    .description("Connection permits in use")
+                    .tag("type", type)
+                    .register(registry);
+        }
+
+        private static Counter rejected(MeterRegistry registry, String type, String reason) {
+            return Counter.builder("datasource.admission.rejected")
+                    .tag("type", type)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+
+    private final Gate reads;
+    private final Gate writes;
+    private final Gate background;
+    private final Duration retryAfter;
+
+    public AdmissionControlledDataSource(DataSource target, Budget reads, Budget writes, Budget background,
+            Duration retryAfter, MeterRegistry meterRegistry) {
+        super(target);
+        this.reads = new Gate("read", reads, meterRegistry);
+        this.writes = new Gate("write", writes, meterRegistry);
+        this.background = new Gate("background", background, meterRegistry);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Gate gate = gate();
+        admit(gate);
+        try {
+            return track(obtainTargetDataSource().getConnection(), gate.permits);
+        } catch (SQLException | RuntimeException e) {
+            gate.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Gate gate = gate();
+        admit(gate);
+        try {
+            return track(obtainTargetDataSource().getConnection(username, password), gate.permits);
+        } catch (SQLException | RuntimeException e) {
+            gate.permits.release();
+            throw e;
+        }
+    }
+
+    private Gate gate() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return background;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? reads : writes;
+    }
+
+    private void admit(Gate gate) throws SQLException {
+        if (gate.permits.tryAcquire()) {
+            gate.waitTime.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (gate.waiting.incrementAndGet() > gate.budget.maxQueue()) {
+            gate.waiting.decrementAndGet();
+            gate.queueFull.increment();
+            throw new ConnectionAdmissionException("Too many requests are waiting for the database", retryAfter);
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = gate.permits.tryAcquire(gate.budget.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection permit", e);
+        } finally {
+            gate.waiting.decrementAndGet();
+            gate.waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            gate.timedOut.increment();
+            throw new ConnectionAdmissionException("Timed out waiting for a database connection", retryAfter);
+        }
+    }
+
+    /** Wraps {@code target} so that closing it returns the permit, once. */
+    private static Connection track(Connection target, Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return target;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            try {
+                                target.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,6 @@
+package com.trademate.shared.datasource;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
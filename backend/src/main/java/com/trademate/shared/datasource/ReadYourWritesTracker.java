@@ -0,0 +1,57 @@
+package com.trademate.shared.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently so their reads can be kept
+ * on the primary until the replica has had time to catch up.
+ * State is per node — a user whose next request lands on another node reads
+ * from the replica as normal.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String username) {
+        if (username == null) {
+            return;
+        }
+        lastWriteNanos.put(username, System.nanoTime());
+        if (lastWriteNanos.size() > PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+    }
+
+    public boolean recentlyWrote(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWriteNanos.remove(username, writtenAt);
+        return false;
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.entrySet().removeIf(e -> now - e.getValue() >= windowNanos);
+    }
+}
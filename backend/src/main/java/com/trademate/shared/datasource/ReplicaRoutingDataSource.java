@@ -0,0 +1,85 @@
+package com.trademate.shared.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy so the lookup runs
+ * once the transaction's read-only flag is known.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter pinnedReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+            ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.writes = routeCounter(meterRegistry, DataSourceTarget.PRIMARY, "write");
+        this.reads = routeCounter(meterRegistry, DataSourceTarget.REPLICA, "read");
+        this.pinnedReads = routeCounter(meterRegistry, DataSourceTarget.PRIMARY, "read-your-writes");
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteAfterCommit(username);
+            writes.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+        if (readYourWritesTracker.recentlyWrote(username)) {
+            pinnedReads.increment();
+            return DataSourceTarget.PRIMARY;
+        }
+        reads.increment();
+        return DataSourceTarget.REPLICA;
+    }
+
+    private void recordWriteAfterCommit(String username) {
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWritesTracker.recordWrite(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite(username);
+            }
+        });
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, DataSourceTarget target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out per target pool")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.trademate.shared.events;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A change recorded in the outbox. Payload values are plain JSON types
+ * (strings, numbers, booleans); dates are ISO-8601 strings.
+ */
+public record DomainEvent(
+        long id,
+        DomainEventType type,
+        long aggregateId,
+        UUID userId,
+        String username,
+        Map<String, Object> payload,
+        LocalDateTime occurredAt) {
+
+    public String payloadString(String key) {
+        Object value = payload.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    public LocalDateTime payloadDateTime(String key) {
+        String value = payloadString(key);
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+}
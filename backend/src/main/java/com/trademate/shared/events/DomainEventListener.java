@@ -0,0 +1,13 @@
+package com.trademate.shared.events;
+
+import java.util.List;
+
+/**
+ * Receives outbox events after the originating transaction has committed.
+ * Each call carries events for a single user in the order they were written.
+ * Delivery is at-least-once, so implementations must tolerate repeats.
+ */
+public interface DomainEventListener {
+
+    void onEvents(List<DomainEvent> events);
+}
@@ -0,0 +1,15 @@
+package com.trademate.shared.events;
+
+public enum DomainEventType {
+    JOB_CREATED,
+    JOB_UPDATED,
+    JOB_STATUS_CHANGED,
+    JOB_DELETED,
+    JOB_ARCHIVED,
+    CLIENT_CREATED,
+    CLIENT_UPDATED,
+    CLIENT_DELETED,
+    INVOICE_CREATED,
+    INVOICE_UPDATED,
+    INVOICE_DELETED
+}
@@ -0,0 +1,229 @@
+package com.trademate.shared.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox on a virtual thread and hands events to every
+ * {@link DomainEventListener}.
+ *
+ * Rows are claimed with FOR UPDATE SKIP LOCKED so several nodes can dispatch
+ * concurrently. Per-user ordering is kept by taking a per-user advisory lock
+ * and skipping a user whose earlier events are still claimed elsewhere.
+ * Events are deleted only after every listener accepted them; a failing group
+ * is retried on the next pass until max-attempts, then dropped and logged.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final String SELECT_BATCH = """
+            SELECT id, event_type, aggregate_id, user_id, username, payload, created_at
+            FROM outbox
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String LOCK_USER = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+    private static final String HAS_EARLIER = "SELECT EXISTS (SELECT 1 FROM outbox WHERE user_id = ? AND id < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate groupTransaction;
+    private final ObjectMapper objectMapper;
+    private final OutboxSignal outboxSignal;
+    private final List<DomainEventListener> listeners;
+
+    private final Timer deliveryLag;
+    private final DistributionSummary batchSizes;
+    private final Counter failures;
+    private final Counter dropped;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, OutboxSignal outboxSignal,
+            List<DomainEventListener> listeners, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.groupTransaction = new TransactionTemplate(transactionManager);
+        this.groupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.objectMapper = objectMapper;
+        this.outboxSignal = outboxSignal;
+        this.listeners = listeners;
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from event commit to listener delivery")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("outbox.batch.size").register(meterRegistry);
+        this.failures = Counter.builder("outbox.delivery.failures").register(meterRegistry);
+        this.dropped = Counter.builder("outbox.events.dropped").register(meterRegistry);
+        Gauge.builder("outbox.oldest.pending.age", oldestPendingMillis, AtomicLong::get)
+                .description("Age in ms of the oldest event seen in the last batch")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("outbox-dispatcher").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int claimed = 0;
+            try {
+                Integer result = batchTransaction.execute(status -> dispatchBatch());
+                claimed = result == null ? 0 : result;
+            } catch (RuntimeException e) {
+                log.warn("Outbox dispatch pass failed", e);
+            }
+            if (claimed < batchSize) {
+                try {
+                    outboxSignal.await(pollInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        List<DomainEvent> batch = jdbcTemplate.query(SELECT_BATCH, this::mapEvent, batchSize);
+        if (batch.isEmpty()) {
+            oldestPendingMillis.set(0);
+            return 0;
+        }
+        batchSizes.record(batch.size());
+        oldestPendingMillis.set(Duration.between(batch.get(0).occurredAt(), LocalDateTime.now()).toMillis());
+
+        Map<UUID, List<DomainEvent>> byUser = new LinkedHashMap<>();
+        for (DomainEvent event : batch) {
+            byUser.computeIfAbsent(event.userId(), id -> new ArrayList<>()).add(event);
+        }
+
+        List<Long> done = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        byUser.forEach((userId, events) -> {
+            if (!claimUser(userId, events.get(0).id())) {
+                return;
+            }
+            List<Long> ids = events.stream().map(DomainEvent::id).toList();
+            try {
+                groupTransaction.executeWithoutResult(status -> deliver(events));
+                done.addAll(ids);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Delivery failed for {} outbox events of user {}", events.size(), userId, e);
+                failed.addAll(ids);
+            }
+        });
+
+        if (!done.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM outbox WHERE id IN (:ids)", Map.of("ids", done));
+        }
+        if (!failed.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE outbox SET attempts = attempts + 1 WHERE id IN (:ids)",
+                    Map.of("ids", failed));
+            int removed = namedJdbcTemplate.update(
+                    "DELETE FROM outbox WHERE id IN (:ids) AND attempts >= :max",
+                    Map.of("ids", failed, "max", maxAttempts));
+            if (removed > 0) {
+                dropped.increment(removed);
+                log.error("Dropped {} outbox events after {} attempts", removed, maxAttempts);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Takes the user's advisory lock for this transaction and checks no earlier
+     * event for the user is still claimed by another dispatcher.
+     */
+    private boolean claimUser(UUID userId, long firstId) {
+        Boolean locked = jdbcTemplate.queryForObject(LOCK_USER, Boolean.class, userId.toString());
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_EARLIER, Boolean.class, userId, firstId));
+    }
+
+    private void deliver(List<DomainEvent> events) {
+        for (DomainEventListener listener : listeners) {
+            listener.onEvents(events);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (DomainEvent event : events) {
+            deliveryLag.record(Duration.between(event.occurredAt(), now));
+        }
+    }
+
+    private DomainEvent mapEvent(ResultSet rs, int rowNum) throws SQLException {
+        return new DomainEvent(
+                rs.getLong("id"),
+                DomainEventType.valueOf(rs.getString("event_type")),
+                rs.getLong("aggregate_id"),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("username"),
+                readPayload(rs.getString("payload")),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private Map<String, Object> readPayload(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.trademate.shared.events;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets writers nudge the dispatcher as soon as new events commit, so the
+ * poll interval only bounds latency for events written by other nodes.
+ */
+@Component
+public class OutboxSignal {
+
+    private final Semaphore pending = new Semaphore(0);
+
+    public void signal() {
+        pending.release();
+    }
+
+    void await(Duration timeout) throws InterruptedException {
+        if (pending.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            pending.drainPermits();
+        }
+    }
+}
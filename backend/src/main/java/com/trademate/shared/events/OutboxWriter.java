@@ -0,0 +1,99 @@
+package com.trademate.shared.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademate.features.auth.model.User;
+import com.trademate.shared.cache.UserCacheGenerations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends domain events to the outbox table inside the caller's transaction,
+ * so an event exists if and only if the change it describes committed.
+ * Once it has, the user's cache generation is bumped, so their per-user cache
+ * entries are no longer read.
+ *
+ * Outbox ids are taken at insert, not at commit, so two transactions writing
+ * for the same user could commit out of id order and the dispatcher would
+ * deliver the later event first. Appending therefore takes a per-user
+ * advisory lock held until the transaction ends, which keeps each user's
+ * event ids in commit order. Concurrent writes for one user queue behind it
+ * from their first event to commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private static final String INSERT = """
+            INSERT INTO outbox (event_type, aggregate_id, user_id, username, payload, created_at)
+            VALUES (?, ?, ?, ?, ?::jsonb, ?)
+            """;
+    private static final String LOCK_USER = "SELECT pg_advisory_xact_lock(hashtext('outbox:' || ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxSignal outboxSignal;
+    private final UserCacheGenerations userCacheGenerations;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEventType type, Long aggregateId, User user, Map<String, Object> payload) {
+        lockUser(user);
+        jdbcTemplate.update(INSERT,
+                type.name(),
+                aggregateId,
+                user.getId(),
+                user.getUsername(),
+                toJson(payload),
+                Timestamp.valueOf(LocalDateTime.now()));
+        afterCommit(user);
+    }
+
+    /** Appends one event per aggregate id, in a single JDBC batch. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(DomainEventType type, User user, Map<Long, Map<String, Object>> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        lockUser(user);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        payloads.forEach((aggregateId, payload) -> rows.add(new Object[] {
+                type.name(), aggregateId, user.getId(), user.getUsername(), toJson(payload), now}));
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        afterCommit(user);
+    }
+
+    private void lockUser(User user) {
+        jdbcTemplate.query(LOCK_USER, rs -> null, user.getId().toString());
+    }
+
+    private void afterCommit(User user) {
+        String username = user.getUsername();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCacheGenerations.bump(username);
+                outboxSignal.signal();
+            }
+        });
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable event payload", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.trademate.shared.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a database connection is not granted because too many requests
+ * are already waiting for one (see AdmissionControlledDataSource).
+ * Usually arrives wrapped by the transaction or persistence layer; handled by
+ * GlobalExceptionHandler → 503 SERVICE_UNAVAILABLE with Retry-After.
+ */
+public class ConnectionAdmissionException extends ServiceUnavailableException {
+
+    public ConnectionAdmissionException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -0,0 +1,13 @@
+package com.trademate.shared.exception;
+
+/**
+ * Thrown when an If-Match header does not match the current version of the
+ * entity, i.e. it was changed since the client read it.
+ * Handled by GlobalExceptionHandler → 412 PRECONDITION_FAILED.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.trademate.shared.exception;
+
+/**
+ * Thrown when an update is sent without the If-Match header it requires.
+ * Handled by GlobalExceptionHandler → 428 PRECONDITION_REQUIRED.
+ */
+public class PreconditionRequiredException extends RuntimeException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.trademate.shared.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when a job overlaps existing bookings and conflict checks run in
+ * REJECT mode.
+ * Handled by GlobalExceptionHandler → 409 CONFLICT.
+ */
+public class SchedulingConflictException extends RuntimeException {
+
+    private final List<Long> conflictingJobIds;
+
+    public SchedulingConflictException(List<Long> conflictingJobIds) {
+        super("Job overlaps existing bookings: " + conflictingJobIds);
+        this.conflictingJobIds = conflictingJobIds;
+    }
+
+    public List<Long> getConflictingJobIds() {
+        return conflictingJobIds;
+    }
+}
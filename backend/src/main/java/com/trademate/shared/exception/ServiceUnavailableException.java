@@ -0,0 +1,33 @@
+package com.trademate.shared.exception;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Thrown when a bounded resource (a worker pool, connection pool, etc.) is
+ * saturated and the request should be retried later.
+ * Handled by GlobalExceptionHandler → 503 SERVICE_UNAVAILABLE with Retry-After.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** The first ServiceUnavailableException in {@code ex}'s cause chain, if any. */
+    public static Optional<ServiceUnavailableException> findIn(Throwable ex) {
+        for (Throwable t = ex; t != null && t != t.getCause(); t = t.getCause()) {
+            if (t instanceof ServiceUnavailableException unavailable) {
+                return Optional.of(unavailable);
+            }
+        }
+        return Optional.empty();
+    }
+}
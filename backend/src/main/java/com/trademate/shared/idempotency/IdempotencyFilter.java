@@ -0,0 +1,359 @@
+package com.trademate.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the Idempotency-Key header on mutating requests to the configured
+ * paths. Runs after JwtAuthenticationFilter so keys are scoped per user.
+ *
+ * The first request with a key claims it and runs; its 2xx response is stored
+ * and replayed (with Idempotent-Replayed: true) for every repeat until the
+ * key expires. Repeats that arrive while the first is still running wait for
+ * it, on this node through a shared future and across nodes by polling the
+ * store, for up to wait-timeout before getting 409. Failed requests release
+ * the key so the client can retry. Reusing a key with a different method,
+ * path or body gets 422.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final List<String> STORED_HEADERS =
+            List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.LOCATION, HttpHeaders.ETAG);
+    private static final long POLL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final List<PathPattern> paths;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration waitTimeout;
+    private final int maxBodyBytes;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+    private final Counter storeErrors;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.idempotency.paths:/api/jobs/**,/api/clients/**}") List<String> paths,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.lock-ttl:60s}") Duration lockTtl,
+            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${app.idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.waitTimeout = waitTimeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.replayed = Counter.builder("idempotency.requests").tag("outcome", "replayed").register(meterRegistry);
+        this.mismatched = Counter.builder("idempotency.requests").tag("outcome", "mismatch").register(meterRegistry);
+        this.timedOut = Counter.builder("idempotency.requests").tag("outcome", "timeout").register(meterRegistry);
+        this.storeErrors = Counter.builder("idempotency.store.errors").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            error(response, HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            error(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Request body is too large");
+            return;
+        }
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+        String scope = auth.getName() + ":" + key;
+        String fingerprint = fingerprint(request, body);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            CompletableFuture<IdempotencyRecord> running = inFlight.get(scope);
+            if (running != null) {
+                awaitLocal(running, deadline);
+            } else {
+                Optional<IdempotencyRecord> existing;
+                try {
+                    existing = store.find(scope);
+                } catch (RuntimeException e) {
+                    // Without the store we cannot deduplicate; serve the request rather than fail it
+                    storeErrors.increment();
+                    log.warn("Idempotency store unavailable, processing {} without deduplication", scope, e);
+                    filterChain.doFilter(replayable, response);
+                    return;
+                }
+                if (existing.isPresent() && !existing.get().fingerprint().equals(fingerprint)) {
+                    mismatched.increment();
+                    error(response, HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                            HEADER + " was already used for a different request");
+                    return;
+                }
+                if (existing.isPresent() && !existing.get().isPending()) {
+                    replay(existing.get(), response);
+                    return;
+                }
+                if (existing.isEmpty() && execute(scope, fingerprint, replayable, response, filterChain)) {
+                    return;
+                }
+                sleep(deadline);
+            }
+            if (System.nanoTime() >= deadline) {
+                timedOut.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                error(response, HttpServletResponse.SC_CONFLICT,
+                        "A request with this " + HEADER + " is still being processed");
+                return;
+            }
+        }
+    }
+
+    /** Claims the key and runs the request; returns false if another request claimed it first. */
+    private boolean execute(String scope, String fingerprint, HttpServletRequest request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(scope, mine) != null) {
+            return false;
+        }
+        IdempotencyRecord result = null;
+        try {
+            boolean claimed;
+            try {
+                claimed = store.tryClaim(scope, IdempotencyRecord.pending(fingerprint), lockTtl);
+            } catch (RuntimeException e) {
+                storeErrors.increment();
+                log.warn("Idempotency store unavailable, processing {} without deduplication", scope, e);
+                filterChain.doFilter(request, response);
+                return true;
+            }
+            if (!claimed) {
+                return false;
+            }
+            var wrapper = new ContentCachingResponseWrapper(response);
+            try {
+                filterChain.doFilter(request, wrapper);
+                int status = wrapper.getStatus();
+                if (status >= 200 && status < 300) {
+                    result = new IdempotencyRecord(fingerprint, status, storedHeaders(wrapper),
+                            wrapper.getContentAsByteArray());
+                }
+            } finally {
+                settle(scope, result);
+            }
+            wrapper.copyBodyToResponse();
+            return true;
+        } finally {
+            inFlight.remove(scope, mine);
+            mine.complete(result);
+        }
+    }
+
+    /** Stores a successful response, or releases the key; store errors must not lose the response. */
+    private void settle(String scope, IdempotencyRecord result) {
+        try {
+            if (result != null) {
+                store.complete(scope, result, ttl);
+            } else {
+                store.release(scope);
+            }
+        } catch (RuntimeException e) {
+            storeErrors.increment();
+            log.warn("Failed to record outcome of idempotent request {}", scope, e);
+        }
+    }
+
+    private void awaitLocal(CompletableFuture<IdempotencyRecord> running, long deadline) {
+        try {
+            running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Loop re-reads the store and gives up once the deadline has passed
+        }
+    }
+
+    private static void sleep(long deadline) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Math.min(POLL_MILLIS, remaining));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(record.status());
+        record.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.body().length);
+        response.getOutputStream().write(record.body());
+    }
+
+    private static Map<String, String> storedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString()
+                    + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void error(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    /** Request whose body has already been read, served again from memory. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
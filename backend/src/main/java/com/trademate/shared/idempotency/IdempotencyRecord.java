@@ -0,0 +1,19 @@
+package com.trademate.shared.idempotency;
+
+import java.util.Map;
+
+/**
+ * State of one Idempotency-Key: either still being processed ({@code status}
+ * 0) or the response to replay. {@code fingerprint} identifies the request
+ * the key was first used with.
+ */
+public record IdempotencyRecord(String fingerprint, int status, Map<String, String> headers, byte[] body) {
+
+    static IdempotencyRecord pending(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, 0, Map.of(), new byte[0]);
+    }
+
+    boolean isPending() {
+        return status == 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.trademate.shared.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage for Idempotency-Key records. Keys are already scoped to the user.
+ */
+public interface IdempotencyStore {
+
+    Optional<IdempotencyRecord> find(String key);
+
+    /** Records {@code pending} under {@code key} unless the key is already present. */
+    boolean tryClaim(String key, IdempotencyRecord pending, Duration ttl);
+
+    void complete(String key, IdempotencyRecord response, Duration ttl);
+
+    /** Forgets the key, e.g. when the request failed and may be retried. */
+    void release(String key);
+}
@@ -0,0 +1,80 @@
+package com.trademate.shared.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory IdempotencyStore holding at most max-entries keys. Expired keys
+ * are dropped when read and swept from the oldest end on every write; beyond
+ * the limit the oldest key is evicted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "local", matchIfMissing = true)
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(IdempotencyRecord record, long expiresAt) {
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public LocalIdempotencyStore(@Value("${app.idempotency.local.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > LocalIdempotencyStore.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.record());
+    }
+
+    @Override
+    public synchronized boolean tryClaim(String key, IdempotencyRecord pending, Duration ttl) {
+        if (find(key).isPresent()) {
+            return false;
+        }
+        put(key, pending, ttl);
+        return true;
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotencyRecord response, Duration ttl) {
+        put(key, response, ttl);
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    private void put(String key, IdempotencyRecord record, Duration ttl) {
+        long now = System.currentTimeMillis();
+        // Re-insert so the key moves to the young end of the insertion order
+        entries.remove(key);
+        entries.put(key, new Entry(record, now + ttl.toMillis()));
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext() && oldest.next().expiresAt() <= now) {
+            oldest.remove();
+        }
+    }
+}
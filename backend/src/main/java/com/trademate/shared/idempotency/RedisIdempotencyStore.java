@@ -0,0 +1,87 @@
+package com.trademate.shared.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * IdempotencyStore shared by every node through Redis, so a retry that lands
+ * on another instance is still recognised. Completed responses are also kept
+ * in a small local store to spare a round trip for repeats hitting this node.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalIdempotencyStore nearCache;
+    private final Duration nearCacheTtl;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            @Value("${app.idempotency.local.max-entries:10000}") int nearCacheEntries,
+            @Value("${app.idempotency.local.ttl:5m}") Duration nearCacheTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = new LocalIdempotencyStore(nearCacheEntries);
+        this.nearCacheTtl = nearCacheTtl;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        Optional<IdempotencyRecord> near = nearCache.find(key);
+        if (near.isPresent()) {
+            return near;
+        }
+        String json = redisTemplate.opsForValue().get(PREFIX + key);
+        if (json == null) {
+            return Optional.empty();
+        }
+        IdempotencyRecord record = read(json);
+        if (!record.isPending()) {
+            nearCache.complete(key, record, nearCacheTtl);
+        }
+        return Optional.of(record);
+    }
+
+    @Override
+    public boolean tryClaim(String key, IdempotencyRecord pending, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(PREFIX + key, write(pending), ttl));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord response, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIX + key, write(response), ttl);
+        nearCache.complete(key, response, ttl.compareTo(nearCacheTtl) < 0 ? ttl : nearCacheTtl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(PREFIX + key);
+        nearCache.release(key);
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt idempotency record", e);
+        }
+    }
+}
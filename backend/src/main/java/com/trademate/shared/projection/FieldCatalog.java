@@ -0,0 +1,126 @@
+package com.trademate.shared.projection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields of one entity that can be requested with {@code ?fields=}, and
+ * the JPQL each maps to. Fields of an associated entity ("client.name") pull
+ * in that association's join only when selected.
+ *
+ * Plans are cached by the raw parameter value, so a repeated field list costs
+ * one map lookup.
+ */
+public final class FieldCatalog {
+
+    private static final int PLAN_CACHE_LIMIT = 1_000;
+
+    private record Field(String expression, String join) {
+    }
+
+    private final String from;
+    private final String idPath;
+    private final Map<String, Field> fields;
+    private final Map<String, String> joins;
+    private final ConcurrentHashMap<String, ProjectionPlan> plans = new ConcurrentHashMap<>();
+
+    private FieldCatalog(String from, String idPath, Map<String, Field> fields, Map<String, String> joins) {
+        this.from = from;
+        this.idPath = idPath;
+        this.fields = fields;
+        this.joins = joins;
+    }
+
+    /** Starts a catalog for {@code entity} with root alias {@code alias}, e.g. ("Job", "j"). */
+    public static Builder builder(String entity, String alias) {
+        return new Builder(entity + " " + alias, alias);
+    }
+
+    /**
+     * Plan for a comma-separated field list. The id is always selected.
+     *
+     * @throws IllegalArgumentException for unknown fields
+     */
+    public ProjectionPlan plan(String fieldList) {
+        ProjectionPlan plan = plans.get(fieldList);
+        if (plan != null) {
+            return plan;
+        }
+        plan = compile(fieldList);
+        if (plans.size() >= PLAN_CACHE_LIMIT) {
+            plans.clear();
+        }
+        plans.put(fieldList, plan);
+        return plan;
+    }
+
+    private ProjectionPlan compile(String fieldList) {
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(idPath);
+        for (String part : fieldList.split(",")) {
+            String path = part.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(path)) {
+                throw new IllegalArgumentException("Unknown field '" + path + "'; allowed: " + fields.keySet());
+            }
+            paths.add(path);
+        }
+        List<String> expressions = new ArrayList<>(paths.size());
+        Set<String> neededJoins = new LinkedHashSet<>();
+        for (String path : paths) {
+            Field field = fields.get(path);
+            expressions.add(field.expression());
+            if (field.join() != null) {
+                neededJoins.add(joins.get(field.join()));
+            }
+        }
+        StringBuilder fromClause = new StringBuilder(from);
+        neededJoins.forEach(join -> fromClause.append(' ').append(join));
+        return new ProjectionPlan(List.copyOf(paths), String.join(", ", expressions), fromClause.toString());
+    }
+
+    public static final class Builder {
+
+        private final String from;
+        private final String alias;
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+        private final Map<String, String> joins = new LinkedHashMap<>();
+        private String idPath = "id";
+
+        private Builder(String from, String alias) {
+            this.from = from;
+            this.alias = alias;
+        }
+
+        /** Root attributes exposed under their own names. */
+        public Builder fields(String... attributes) {
+            for (String attribute : attributes) {
+                fields.put(attribute, new Field(alias + "." + attribute, null));
+            }
+            return this;
+        }
+
+        /** Attributes of a to-one association, exposed as "association.attribute" via a LEFT JOIN. */
+        public Builder join(String association, String joinAlias, String... attributes) {
+            joins.put(association, "LEFT JOIN " + alias + "." + association + " " + joinAlias);
+            for (String attribute : attributes) {
+                fields.put(association + "." + attribute, new Field(joinAlias + "." + attribute, association));
+            }
+            return this;
+        }
+
+        public FieldCatalog build() {
+            if (!fields.containsKey(idPath)) {
+                throw new IllegalStateException("Catalog must expose '" + idPath + "'");
+            }
+            return new FieldCatalog(from, idPath, Map.copyOf(fields), Map.copyOf(joins));
+        }
+    }
+}
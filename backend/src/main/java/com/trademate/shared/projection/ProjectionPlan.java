@@ -0,0 +1,10 @@
+package com.trademate.shared.projection;
+
+import java.util.List;
+
+/**
+ * A compiled field selection: the JPQL select list and FROM clause, and the
+ * output path of each selected column.
+ */
+public record ProjectionPlan(List<String> paths, String select, String from) {
+}
@@ -0,0 +1,58 @@
+package com.trademate.shared.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a ProjectionPlan as a JPQL tuple query, so only the requested columns
+ * are read, and shapes each row into nested maps ("client.name" becomes
+ * {"client": {"name": ...}}). An association whose selected fields are all
+ * null, i.e. a missing LEFT JOIN row, is rendered as null.
+ */
+@Component
+public class ProjectionQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Rows matching {@code where} (JPQL over the plan's aliases), ordered by {@code orderBy}. */
+    public List<Map<String, Object>> list(ProjectionPlan plan, String where, Map<String, Object> parameters,
+            String orderBy) {
+        String jpql = "SELECT " + plan.select() + " FROM " + plan.from() + " WHERE " + where
+                + (orderBy == null ? "" : " ORDER BY " + orderBy);
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        List<Tuple> rows = query.getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(shape(plan.paths(), row));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> shape(List<String> paths, Tuple row) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                root.put(path, row.get(i));
+            } else {
+                Object nested = root.computeIfAbsent(path.substring(0, dot), key -> new LinkedHashMap<>());
+                ((Map<String, Object>) nested).put(path.substring(dot + 1), row.get(i));
+            }
+        }
+        root.replaceAll((key, value) -> value instanceof Map<?, ?> map
+                && map.values().stream().allMatch(v -> v == null) ? null : value);
+        return root;
+    }
+}
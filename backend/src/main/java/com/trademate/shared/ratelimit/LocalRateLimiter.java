@@ -0,0 +1,49 @@
+package com.trademate.shared.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RateLimiter enforcing each bucket on this node only, so with several nodes a
+ * user gets the limit once per node. Holds at most max-entries buckets; when
+ * full, buckets that have refilled are dropped, and if that frees nothing all
+ * are.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public LocalRateLimiter(@Value("${app.rate-limit.local.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(policy, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    ConcurrentHashMap<String, TokenBucket> buckets() {
+        return buckets;
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        if (buckets.size() >= maxEntries) {
+            buckets.clear();
+        }
+    }
+}
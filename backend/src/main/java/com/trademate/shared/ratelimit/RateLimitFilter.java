@@ -0,0 +1,125 @@
+package com.trademate.shared.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limits each user's request rate per endpoint class (see
+ * {@link RateLimitPolicy}). Runs after JwtAuthenticationFilter so buckets are
+ * keyed by user; unauthenticated requests are not limited here.
+ *
+ * Every limited response carries RateLimit-Limit, RateLimit-Remaining,
+ * RateLimit-Reset and RateLimit-Policy (IETF draft); requests over the limit
+ * get 429 with Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private record Rule(RateLimitPolicy policy, List<PathPattern> paths) {
+
+        boolean matches(String method, PathContainer path) {
+            return (policy.methods().isEmpty() || policy.methods().contains(method))
+                    && paths.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+    }
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            Environment environment, @Value("${app.rate-limit.enabled:true}") boolean enabled) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rules = Binder.get(environment)
+                .bind("app.rate-limit.classes", Bindable.listOf(RateLimitPolicy.class))
+                .orElse(List.of())
+                .stream()
+                .map(policy -> new Rule(policy,
+                        policy.paths().stream().map(PathPatternParser.defaultInstance::parse).toList()))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || rules.isEmpty() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Rule rule = auth == null || !auth.isAuthenticated() ? null : match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitPolicy policy = rule.policy();
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(auth.getName() + ":" + policy.name(), policy);
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+        response.setHeader(POLICY_HEADER, policy.capacity() + ";w=" + policy.windowSeconds());
+        counter(policy.name(), decision.allowed() ? "allowed" : "limited").increment();
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Rate limit exceeded, retry later"));
+    }
+
+    private Rule match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Rule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private Counter counter(String endpointClass, String outcome) {
+        return counters.computeIfAbsent(endpointClass + ":" + outcome, k -> Counter.builder("ratelimit.requests")
+                .tag("class", endpointClass)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
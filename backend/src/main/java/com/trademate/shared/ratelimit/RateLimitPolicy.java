@@ -0,0 +1,31 @@
+package com.trademate.shared.ratelimit;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Token bucket for one endpoint class, bound from
+ * {@code app.rate-limit.classes[n]}: each user may burst up to
+ * {@code capacity} requests, refilled at {@code refillPerSecond}. A request
+ * belongs to the first class whose paths match and whose methods (if any are
+ * listed) include its method.
+ */
+public record RateLimitPolicy(String name, List<String> paths, Set<String> methods, int capacity,
+        double refillPerSecond) {
+
+    public RateLimitPolicy {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Rate limit class requires a name");
+        }
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit class " + name + " needs a positive capacity and refill");
+        }
+        paths = paths == null ? List.of("/api/**") : List.copyOf(paths);
+        methods = methods == null ? Set.of() : Set.copyOf(methods);
+    }
+
+    /** Seconds for an empty bucket to fill up again. */
+    long windowSeconds() {
+        return (long) Math.ceil(capacity / refillPerSecond);
+    }
+}
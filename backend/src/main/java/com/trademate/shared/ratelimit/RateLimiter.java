@@ -0,0 +1,16 @@
+package com.trademate.shared.ratelimit;
+
+/**
+ * Per-key token buckets. Keys are already scoped to the user and endpoint class.
+ */
+public interface RateLimiter {
+
+    /**
+     * Outcome of taking one token. {@code resetSeconds} is the time until the
+     * bucket is full again, {@code retryAfterSeconds} until the next token.
+     */
+    record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    Decision tryAcquire(String key, RateLimitPolicy policy);
+}
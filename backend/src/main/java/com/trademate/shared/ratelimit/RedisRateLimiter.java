@@ -0,0 +1,174 @@
+package com.trademate.shared.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RateLimiter shared by every node through Redis. Requests are still decided
+ * against local buckets, so Redis is off the request path; every sync-interval
+ * each node reports the tokens it took to a cluster-wide bucket per key (one
+ * Lua script per key, all pipelined in one round trip) and adopts the
+ * remaining count. A user can therefore exceed the cluster-wide limit by
+ * what the nodes admit between two syncs.
+ *
+ * If Redis is unavailable the local buckets keep enforcing per node and the
+ * unreported tokens are carried to the next pass.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String PREFIX = "ratelimit:";
+
+    // Refills from Redis' clock so nodes with skewed clocks agree; may go
+    // negative when nodes together overshoot, which delays the next refill.
+    private static final String SYNC_SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local taken = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'at')
+            local tokens = tonumber(state[1]) or capacity
+            local at = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - at) * rate / 1000) - taken
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'at', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+            return tostring(tokens)
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalRateLimiter local;
+    private final Duration syncInterval;
+    private final Timer syncTimer;
+    private final Counter syncFailures;
+
+    private volatile String scriptSha;
+    private volatile boolean running;
+    private Thread worker;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.local.max-entries:100000}") int maxEntries,
+            @Value("${app.rate-limit.redis.sync-interval:250ms}") Duration syncInterval) {
+        this.redisTemplate = redisTemplate;
+        this.local = new LocalRateLimiter(maxEntries);
+        this.syncInterval = syncInterval;
+        this.syncTimer = Timer.builder("ratelimit.sync").register(meterRegistry);
+        this.syncFailures = Counter.builder("ratelimit.sync.failures").register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitPolicy policy) {
+        return local.tryAcquire(key, policy);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("rate-limit-sync").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(syncInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                syncTimer.record(this::sync);
+            } catch (RuntimeException e) {
+                // Reload the script next time in case Redis restarted and lost it
+                scriptSha = null;
+                syncFailures.increment();
+                log.warn("Rate limit sync with Redis failed, enforcing per node until it recovers", e);
+            }
+        }
+    }
+
+    void sync() {
+        List<String> keys = new ArrayList<>();
+        List<TokenBucket> buckets = new ArrayList<>();
+        List<Long> taken = new ArrayList<>();
+        local.buckets().forEach((key, bucket) -> {
+            long count = bucket.takePending();
+            if (count > 0) {
+                keys.add(key);
+                buckets.add(bucket);
+                taken.add(count);
+            }
+        });
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> results;
+        try {
+            String sha = loadScript();
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    evalSync(connection, sha, keys.get(i), buckets.get(i).policy(), taken.get(i));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            for (int i = 0; i < buckets.size(); i++) {
+                buckets.get(i).returnPending(taken.get(i));
+            }
+            throw e;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < buckets.size(); i++) {
+            buckets.get(i).resync(Double.parseDouble((String) results.get(i)), now);
+        }
+    }
+
+    private String loadScript() {
+        String sha = scriptSha;
+        if (sha == null) {
+            sha = redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.scriptingCommands().scriptLoad(bytes(SYNC_SCRIPT)));
+            scriptSha = sha;
+        }
+        return sha;
+    }
+
+    private static void evalSync(RedisConnection connection, String sha, String key, RateLimitPolicy policy,
+            long taken) {
+        connection.scriptingCommands().evalSha(sha, ReturnType.VALUE, 1,
+                bytes(PREFIX + key),
+                bytes(String.valueOf(policy.capacity())),
+                bytes(String.valueOf(policy.refillPerSecond())),
+                bytes(String.valueOf(taken)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package com.trademate.shared.ratelimit;
+
+/**
+ * Token bucket refilled continuously from the monotonic clock. Tokens taken
+ * since the last cluster sync are counted as pending so RedisRateLimiter can
+ * report them; in local mode they are simply never collected.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final RateLimitPolicy policy;
+    private double tokens;
+    private long refilledAt;
+    private long pending;
+
+    TokenBucket(RateLimitPolicy policy, long nowNanos) {
+        this.policy = policy;
+        this.tokens = policy.capacity();
+        this.refilledAt = nowNanos;
+    }
+
+    RateLimitPolicy policy() {
+        return policy;
+    }
+
+    synchronized RateLimiter.Decision tryConsume(long nowNanos) {
+        refill(nowNanos);
+        boolean allowed = tokens >= 1;
+        if (allowed) {
+            tokens -= 1;
+            pending++;
+        }
+        double rate = policy.refillPerSecond();
+        return new RateLimiter.Decision(allowed, policy.capacity(), (long) Math.max(0, tokens),
+                (long) Math.ceil((policy.capacity() - tokens) / rate),
+                allowed ? 0 : (long) Math.ceil((1 - tokens) / rate));
+    }
+
+    /** True once the bucket has refilled and holds nothing unsynced, so dropping it changes nothing. */
+    synchronized boolean isIdle(long nowNanos) {
+        refill(nowNanos);
+        return pending == 0 && tokens >= policy.capacity();
+    }
+
+    synchronized long takePending() {
+        long taken = pending;
+        pending = 0;
+        return taken;
+    }
+
+    /** Puts back tokens whose sync failed so the next pass reports them. */
+    synchronized void returnPending(long taken) {
+        pending += taken;
+    }
+
+    /**
+     * Adopts the cluster-wide count; tokens taken here while the sync was in
+     * flight are not in it yet and are deducted again.
+     */
+    synchronized void resync(double clusterTokens, long nowNanos) {
+        tokens = Math.min(policy.capacity(), clusterTokens - pending);
+        refilledAt = nowNanos;
+    }
+
+    private void refill(long nowNanos) {
+        double refilled = (nowNanos - refilledAt) / NANOS_PER_SECOND * policy.refillPerSecond();
+        tokens = Math.min(policy.capacity(), tokens + refilled);
+        refilledAt = nowNanos;
+    }
+}
@@ -0,0 +1,33 @@
+package com.trademate.shared.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Flat key/value store for immutable files. Keys are '/'-separated paths
+ * chosen by the caller, like object keys in an S3 bucket.
+ */
+public interface BlobStore {
+
+    /**
+     * Moves {@code source} into the store under {@code key}. Blobs are
+     * immutable, so an existing blob is kept and {@code source} is deleted.
+     */
+    void put(String key, Path source) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /** The blob as a local file for zero-copy serving, or empty for remote stores. */
+    Optional<Path> localPath(String key);
+
+    void delete(String key) throws IOException;
+
+    /** A scratch file on the same volume as the store, for staging uploads. */
+    Path createTempFile() throws IOException;
+}
@@ -0,0 +1,163 @@
+package com.trademate.shared.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps in-flight API requests at a limit that adapts to observed latency
+ * (see {@link GradientLimit}), and sheds the excess by priority: each class
+ * may only fill its share of the limit, so as load rises dashboard polling is
+ * turned away first (429), then other reads (429), and logins and writes
+ * only when the whole limit is in use (503). Both carry Retry-After.
+ *
+ * Runs in the security chain after CORS and before authentication, so shed
+ * requests cost no user lookup. Streaming endpoints count against the limit
+ * but do not feed latency samples, since their duration is the client's.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    enum Priority {
+        CRITICAL,
+        NORMAL,
+        BACKGROUND
+    }
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final boolean enabled;
+    private final Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+    private final List<PathPattern> backgroundPaths;
+    private final List<PathPattern> unsampledPaths;
+    private final Duration retryAfter;
+    private final ObjectMapper objectMapper;
+    private final Map<Priority, Counter> accepted = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public AdaptiveConcurrencyFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.concurrency.enabled:true}") boolean enabled,
+            @Value("${app.concurrency.initial-limit:50}") int initialLimit,
+            @Value("${app.concurrency.min-limit:10}") int minLimit,
+            @Value("${app.concurrency.max-limit:400}") int maxLimit,
+            @Value("${app.concurrency.tolerance:1.5}") double tolerance,
+            @Value("${app.concurrency.baseline-creep:10m}") Duration baselineCreep,
+            @Value("${app.concurrency.normal-share:0.85}") double normalShare,
+            @Value("${app.concurrency.background-share:0.6}") double backgroundShare,
+            @Value("${app.concurrency.background-paths:/api/dashboard/**}") List<String> backgroundPaths,
+            @Value("${app.concurrency.unsampled-paths:}") List<String> unsampledPaths,
+            @Value("${app.concurrency.retry-after:1s}") Duration retryAfter) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.limit = new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, baselineCreep);
+        this.shares.put(Priority.CRITICAL, 1.0);
+        this.shares.put(Priority.NORMAL, normalShare);
+        this.shares.put(Priority.BACKGROUND, backgroundShare);
+        this.backgroundPaths = parse(backgroundPaths);
+        this.unsampledPaths = parse(unsampledPaths);
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("http.concurrency.limit", limit, GradientLimit::limit).register(meterRegistry);
+        Gauge.builder("http.concurrency.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("http.concurrency.rtt.short", limit, l -> l.shortRttNanos() / 1e6)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.rtt.long", limit, l -> l.longRttNanos() / 1e6)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            accepted.put(priority, decision(meterRegistry, priority, "accepted"));
+            shed.put(priority, decision(meterRegistry, priority, "shed"));
+        }
+    }
+
+    private static Counter decision(MeterRegistry meterRegistry, Priority priority, String outcome) {
+        return Counter.builder("http.concurrency.decisions")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream().filter(p -> !p.isBlank()).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        Priority priority = classify(request, path);
+        int current = inFlight.incrementAndGet();
+        if (current > limit.limit() * shares.get(priority)) {
+            inFlight.decrementAndGet();
+            shed.get(priority).increment();
+            reject(response, priority);
+            return;
+        }
+        accepted.get(priority).increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+            if (!matches(unsampledPaths, path)) {
+                long now = System.nanoTime();
+                limit.onSample(now - start, current, now);
+            }
+        }
+    }
+
+    private Priority classify(HttpServletRequest request, PathContainer path) {
+        String method = request.getMethod();
+        if (path.value().startsWith("/api/auth/") || !("GET".equals(method) || "HEAD".equals(method))) {
+            return Priority.CRITICAL;
+        }
+        return matches(backgroundPaths, path) ? Priority.BACKGROUND : Priority.NORMAL;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, Priority priority) throws IOException {
+        HttpStatus status = priority == Priority.CRITICAL
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", "Server is busy, retry shortly"));
+    }
+}
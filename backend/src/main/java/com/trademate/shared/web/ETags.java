@@ -0,0 +1,54 @@
+package com.trademate.shared.web;
+
+import com.trademate.shared.exception.PreconditionRequiredException;
+
+/**
+ * ETags derived from JPA @Version values, and the matching If-Match parsing.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Version required by an If-Match header: null for "*" (any version), or
+     * -1 when the header is not a single strong version tag, so nothing matches.
+     *
+     * @throws PreconditionRequiredException if the header is missing
+     */
+    public static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new PreconditionRequiredException("If-Match header with the entity's ETag is required");
+        }
+        return parse(ifMatch);
+    }
+
+    /** Like {@link #requiredVersion} but a missing header means "any version". */
+    public static Long optionalVersion(String ifMatch) {
+        return ifMatch == null || ifMatch.isBlank() ? null : parse(ifMatch);
+    }
+
+    public static boolean matches(String ifNoneMatch, Long version) {
+        return ifNoneMatch != null && ifNoneMatch.contains(of(version));
+    }
+
+    private static Long parse(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        // Weak tags never match If-Match, which uses strong comparison
+        if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 2) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException e) {
+                return -1L;
+            }
+        }
+        return -1L;
+    }
+}
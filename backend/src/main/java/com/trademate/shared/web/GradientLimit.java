@@ -0,0 +1,77 @@
+package com.trademate.shared.web;
+
+import java.time.Duration;
+
+/**
+ * Concurrency limit driven by the latency gradient, after Netflix's Gradient2:
+ * a short-term latency average is compared with a long-term baseline; while
+ * they agree (within tolerance) the limit grows by about sqrt(limit), and as
+ * the short-term average pulls away the limit shrinks in proportion.
+ *
+ * The baseline is learned from samples taken while less than half the limit
+ * is in use, i.e. unqueued latency. Under saturation it may only fall, as
+ * fast as the short-term average so that a slow first sample (a cold start)
+ * is not kept as the baseline, or creep up with a time constant of
+ * baseline-creep, so that a backend that has genuinely slowed down is
+ * accepted eventually while queueing delay is not mistaken for it (which
+ * would let the limit run away). Samples taken
+ * while under half the limit carry no information about capacity and leave
+ * the limit alone.
+ */
+final class GradientLimit {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.01;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long baselineCreepNanos;
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+    private long lastSampleNanos;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, Duration baselineCreep) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.baselineCreepNanos = baselineCreep.toNanos();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    synchronized double shortRttNanos() {
+        return shortRtt;
+    }
+
+    synchronized double longRttNanos() {
+        return longRtt;
+    }
+
+    synchronized void onSample(long rttNanos, int inFlight, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - lastSampleNanos);
+        lastSampleNanos = nowNanos;
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_ALPHA;
+        double current = limit;
+        if (inFlight < current / 2) {
+            longRtt += (rttNanos - longRtt) * LONG_ALPHA;
+            return;
+        }
+        double creep = rttNanos < longRtt ? SHORT_ALPHA : Math.min(1.0, (double) elapsed / baselineCreepNanos);
+        longRtt += (rttNanos - longRtt) * creep;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
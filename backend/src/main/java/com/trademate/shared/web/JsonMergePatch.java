@@ -0,0 +1,57 @@
+package com.trademate.shared.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JSON Merge Patch (RFC 7396): members of the patch replace those of the
+ * target, null members remove them and nested objects are merged recursively.
+ */
+public final class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private JsonMergePatch() {
+    }
+
+    /** Returns the patched document; {@code target} is not modified. */
+    public static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch.deepCopy();
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : ((ObjectNode) patch).objectNode();
+        patch.fields().forEachRemaining(field -> {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Rejects a patch that is not an object or touches members outside
+     * {@code allowed}, e.g. ids, versions and timestamps.
+     */
+    public static void requireOnly(JsonNode patch, Collection<String> allowed) {
+        if (!patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        List<String> rejected = new ArrayList<>();
+        patch.fieldNames().forEachRemaining(name -> {
+            if (!allowed.contains(name)) {
+                rejected.add(name);
+            }
+        });
+        if (!rejected.isEmpty()) {
+            throw new IllegalArgumentException("Fields cannot be patched: " + rejected);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.trademate.shared.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a file to the response. Uses Tomcat's sendfile when the connector
+ * supports it, so the kernel copies the file to the socket after the handler
+ * returns and no bytes pass through the JVM; otherwise falls back to
+ * FileChannel.transferTo into the response stream.
+ */
+public final class ZeroCopyFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ZeroCopyFileSender() {
+    }
+
+    /** Sends {@code file} in full; the file must not be deleted while being sent. */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+            String contentType, String filename) throws IOException {
+        long length = Files.size(file);
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.inline().filename(filename).build().toString());
+        sendRange(request, response, file, 0, length);
+    }
+
+    /**
+     * Sends {@code file} honouring a single-range Range header: 206 with the
+     * requested bytes, or 416 when the range lies outside the file. Requests
+     * for several ranges, or whose If-Range does not match the ETag already
+     * set on the response, get the whole file.
+     */
+    public static void sendRanged(HttpServletRequest request, HttpServletResponse response, Path file,
+            String contentType, ContentDisposition disposition) throws IOException {
+        long length = Files.size(file);
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range == null || (ifRange != null && !ifRange.equals(response.getHeader(HttpHeaders.ETAG)))) {
+            sendRange(request, response, file, 0, length);
+            return;
+        }
+        long[] bounds = parseRange(range, length);
+        if (bounds == null) {
+            sendRange(request, response, file, 0, length);
+        } else if (bounds.length == 0) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + bounds[0] + "-" + (bounds[1] - 1) + "/" + length);
+            sendRange(request, response, file, bounds[0], bounds[1]);
+        }
+    }
+
+    /**
+     * Parses "bytes=a-b", "bytes=a-" or "bytes=-n" into {start, endExclusive}.
+     * Returns null when the header should be ignored (malformed or several
+     * ranges) and an empty array when the range is unsatisfiable.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(first);
+                end = length;
+                if (!last.isEmpty()) {
+                    long lastByte = Long.parseLong(last);
+                    if (lastByte < start) {
+                        return null;
+                    }
+                    end = Math.min(length, lastByte + 1);
+                }
+            }
+            return start >= length ? new long[0] : new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Sends bytes [start, end) of {@code file}; status and content headers are the caller's. */
+    public static void sendRange(HttpServletRequest request, HttpServletResponse response, Path file,
+            long start, long end) throws IOException {
+        response.setContentLengthLong(end - start);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+}
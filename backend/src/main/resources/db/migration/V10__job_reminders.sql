@@ -0,0 +1,14 @@
+-- One row per reminder sent; the primary key makes sending at-most-once even
+-- when leadership moves between nodes. A rescheduled job gets a new row.
+CREATE TABLE job_reminders (
+    job_id BIGINT NOT NULL,
+    scheduled_date TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (job_id, scheduled_date)
+);
+
+CREATE INDEX idx_job_reminders_sent_at ON job_reminders (sent_at);
+
+-- Cross-user scan for the next window of reminders
+CREATE INDEX idx_jobs_pending_scheduled ON jobs (scheduled_date)
+    WHERE status = 'PENDING' AND recurrence_rule IS NULL;
@@ -0,0 +1,13 @@
+-- Per-user daily counters for reporting. Maintained from outbox events by
+-- DailyRollupListener and recomputed nightly by DailyRollupRepairer.
+--   jobs_created     jobs (incl. archived) created that day, net of deletions
+--   jobs_completed   transitions to COMPLETED that day, net of reopenings
+--   clients_created  clients created that day, net of deletions
+CREATE TABLE daily_user_rollups (
+    user_id UUID NOT NULL REFERENCES users(id),
+    day DATE NOT NULL,
+    jobs_created INTEGER NOT NULL DEFAULT 0,
+    jobs_completed INTEGER NOT NULL DEFAULT 0,
+    clients_created INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day)
+);
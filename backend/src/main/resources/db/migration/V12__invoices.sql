@@ -0,0 +1,37 @@
+-- Quotes and invoices. job_id has no FK because jobs is partitioned and jobs
+-- may be moved to jobs_archive.
+CREATE TABLE invoices (
+    id BIGSERIAL PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id),
+    client_id BIGINT REFERENCES clients(id),
+    job_id BIGINT,
+    type VARCHAR(16) NOT NULL,
+    sequence_number INTEGER NOT NULL,
+    number VARCHAR(32) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    issue_date DATE NOT NULL,
+    due_date DATE,
+    tax_rate NUMERIC(5, 4) NOT NULL,
+    subtotal NUMERIC(12, 2) NOT NULL,
+    tax_total NUMERIC(12, 2) NOT NULL,
+    total NUMERIC(12, 2) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    UNIQUE (user_id, type, sequence_number)
+);
+
+CREATE INDEX idx_invoices_user_job ON invoices (user_id, job_id);
+CREATE INDEX idx_invoices_user_status ON invoices (user_id, status);
+
+CREATE TABLE invoice_line_items (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    quantity NUMERIC(12, 3) NOT NULL,
+    unit_price NUMERIC(12, 2) NOT NULL,
+    amount NUMERIC(12, 2) NOT NULL
+);
+
+CREATE INDEX idx_invoice_line_items_invoice ON invoice_line_items (invoice_id, position);
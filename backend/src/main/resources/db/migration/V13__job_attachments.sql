@@ -0,0 +1,29 @@
+-- Content-addressed attachment storage. Identical files uploaded to any job
+-- share one blob; ref_count tracks how many attachments point at it and
+-- unreferenced blobs are swept after a grace period.
+CREATE TABLE attachment_blobs (
+    hash CHAR(64) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    ref_count INTEGER NOT NULL,
+    has_thumbnail BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL,
+    released_at TIMESTAMP
+);
+
+CREATE INDEX idx_attachment_blobs_released ON attachment_blobs (released_at) WHERE ref_count = 0;
+
+-- job_id has no FK because jobs is partitioned and jobs may be moved to
+-- jobs_archive.
+CREATE TABLE job_attachments (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    user_id UUID NOT NULL REFERENCES users(id),
+    blob_hash CHAR(64) NOT NULL REFERENCES attachment_blobs(hash),
+    filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_job_attachments_user_job ON job_attachments (user_id, job_id);
@@ -0,0 +1,6 @@
+-- Optimistic locking for jobs and clients (JPA @Version, surfaced as ETags)
+ALTER TABLE jobs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE jobs_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE clients ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,17 @@
+-- Users and clients are held in each node's Hibernate second-level cache.
+-- Every committed update or delete, whatever wrote it, is announced on the
+-- entity_cache channel as "<table>:<id>" so all nodes can evict the row
+-- (see EntityCacheInvalidator). Notifications are only delivered on commit.
+
+CREATE OR REPLACE FUNCTION notify_entity_cache() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('entity_cache', TG_TABLE_NAME || ':' || OLD.id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_entity_cache AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_cache();
+
+CREATE TRIGGER clients_entity_cache AFTER UPDATE OR DELETE ON clients
+    FOR EACH ROW EXECUTE FUNCTION notify_entity_cache();
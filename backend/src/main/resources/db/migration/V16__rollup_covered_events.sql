@@ -0,0 +1,10 @@
+-- Outbox events that a DailyRollupRepairer rebuild has already counted. A
+-- rebuild reads the source tables, which include changes whose events are
+-- still waiting in the outbox; DailyRollupListener skips those events' days
+-- in [from_day, to_day) and deletes the rows once the events are applied.
+CREATE TABLE daily_rollup_covered_events (
+    event_id BIGINT NOT NULL,
+    from_day DATE NOT NULL,
+    to_day DATE NOT NULL,
+    PRIMARY KEY (event_id, from_day)
+);
@@ -0,0 +1,81 @@
+-- Range-partition jobs by creation month and add a cold archive table.
+--
+-- The partition key is the id rather than created_at: nearly every statement
+-- on jobs names the id (entity loads, versioned updates, deletes), and a
+-- created_at key would make each of them probe every partition. Instead a new
+-- id is the first id of the current month plus a sequence value, so each
+-- month's ids form one range and a partition holds the jobs created in that
+-- month. Lookups by id touch one partition, and date-bounded scans such as the
+-- archiver's prune by turning the date into an id bound with
+-- jobs_month_first_id. The sequence leaves room for a billion jobs.
+--
+-- Per-user lists and counts have no id or date bound, so they read the
+-- (user_id, ...) index of every partition; JobArchiver keeps old partitions
+-- down to the jobs that are still open. Rows from before this migration keep
+-- their ids and stay in jobs_legacy.
+
+ALTER TABLE jobs RENAME TO jobs_unpartitioned;
+ALTER TABLE jobs_unpartitioned ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE jobs_id_seq OWNED BY NONE;
+
+-- First job id of the month containing the given day: one billion ids per month since 2000-01.
+CREATE FUNCTION jobs_month_first_id(day DATE) RETURNS BIGINT AS $$
+    SELECT ((EXTRACT(YEAR FROM day)::BIGINT - 2000) * 12 + EXTRACT(MONTH FROM day)::BIGINT - 1) * 1000000000
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE TABLE jobs (
+    id BIGINT NOT NULL DEFAULT jobs_month_first_id(CURRENT_DATE) + nextval('jobs_id_seq'),
+    user_id UUID NOT NULL REFERENCES users(id),
+    client_id BIGINT REFERENCES clients(id),
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    address VARCHAR(255),
+    scheduled_date TIMESTAMP,
+    status VARCHAR(255) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (id)
+) PARTITION BY RANGE (id);
+
+-- Creates the partition for the month containing the given day; safe to call repeatedly.
+CREATE OR REPLACE FUNCTION create_jobs_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    first_id BIGINT := jobs_month_first_id(month_start);
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF jobs FOR VALUES FROM (%s) TO (%s)',
+                   'jobs_' || to_char(month_start, 'YYYY_MM'), first_id, first_id + 1000000000);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Existing rows keep their plain sequence ids, which fall in the otherwise unused range of 2000-01.
+CREATE TABLE jobs_legacy PARTITION OF jobs FOR VALUES FROM (MINVALUE) TO (1000000000);
+
+DO $$
+DECLARE
+    partition_month DATE;
+BEGIN
+    FOR partition_month IN
+        SELECT generate_series(date_trunc('month', now()), date_trunc('month', now()) + INTERVAL '3 months',
+                               INTERVAL '1 month')::date
+    LOOP
+        PERFORM create_jobs_partition(partition_month);
+    END LOOP;
+END $$;
+
+INSERT INTO jobs (id, user_id, client_id, title, description, address, scheduled_date, status, notes,
+                  created_at, updated_at)
+SELECT id, user_id, client_id, title, description, address, scheduled_date, status, notes,
+       created_at, updated_at
+FROM jobs_unpartitioned;
+
+DROP TABLE jobs_unpartitioned;
+ALTER SEQUENCE jobs_id_seq OWNED BY jobs.id;
+
+CREATE INDEX idx_jobs_user_status ON jobs (user_id, status);
+
+-- Completed jobs past the archive age are moved here by JobArchiver, which
+-- copies columns by name, so every column added to jobs is added here too.
+CREATE TABLE jobs_archive (LIKE jobs);
+ALTER TABLE jobs_archive ADD PRIMARY KEY (id);
+CREATE INDEX idx_jobs_archive_user ON jobs_archive (user_id, created_at);
@@ -0,0 +1,14 @@
+-- Transactional outbox: domain events are written in the same transaction as the
+-- change and drained asynchronously by OutboxDispatcher.
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    user_id UUID NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_outbox_user ON outbox (user_id, id);
@@ -0,0 +1,18 @@
+-- Append-only field-level history of job changes, written by JobHistoryWriter.
+-- No FK to jobs: history outlives deletes and archival, and jobs is partitioned.
+CREATE TABLE job_events (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    user_id UUID NOT NULL,
+    actor VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    field VARCHAR(64),
+    old_value TEXT,
+    new_value TEXT,
+    occurred_at TIMESTAMP NOT NULL
+);
+
+-- Keyset paging of one job's history, newest first
+CREATE INDEX idx_job_events_job ON job_events (job_id, id);
+-- Rows arrive in time order, so a BRIN index stays tiny at any table size
+CREATE INDEX idx_job_events_occurred_at ON job_events USING BRIN (occurred_at);
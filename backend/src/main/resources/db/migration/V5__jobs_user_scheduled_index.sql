@@ -0,0 +1,2 @@
+-- Serves calendar and date-range queries (findJobsForDateRange, findCalendarEntries)
+CREATE INDEX idx_jobs_user_scheduled ON jobs (user_id, scheduled_date);
@@ -0,0 +1,16 @@
+-- Recurring jobs: a template row carries an RRULE and its occurrences are expanded
+-- on read. An occurrence becomes a real row (recurrence_parent_id + occurrence_date)
+-- only once it is edited, started or completed.
+ALTER TABLE jobs
+    ADD COLUMN recurrence_rule VARCHAR(255),
+    ADD COLUMN recurrence_parent_id BIGINT,
+    ADD COLUMN occurrence_date DATE;
+
+ALTER TABLE jobs_archive
+    ADD COLUMN recurrence_rule VARCHAR(255),
+    ADD COLUMN recurrence_parent_id BIGINT,
+    ADD COLUMN occurrence_date DATE;
+
+CREATE INDEX idx_jobs_recurring_templates ON jobs (user_id) WHERE recurrence_rule IS NOT NULL;
+CREATE INDEX idx_jobs_occurrences ON jobs (recurrence_parent_id, occurrence_date)
+    WHERE recurrence_parent_id IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Estimated duration, used for double-booking checks. NULL falls back to
+-- app.jobs.conflicts.default-duration.
+ALTER TABLE jobs ADD COLUMN estimated_duration_minutes INTEGER;
+
+ALTER TABLE jobs_archive ADD COLUMN estimated_duration_minutes INTEGER;
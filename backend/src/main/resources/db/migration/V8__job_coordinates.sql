@@ -0,0 +1,9 @@
+-- Geocoded address, filled in lazily by route planning and cleared when the
+-- address changes
+ALTER TABLE jobs
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE jobs_archive
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION;
@@ -0,0 +1,11 @@
+-- Client coordinates, geocoded from address on write
+ALTER TABLE clients
+    ADD COLUMN latitude DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Bounding-box lookups for /api/geo/nearby: equality on user_id, range on
+-- latitude, longitude filtered from the index without touching the heap
+CREATE INDEX idx_jobs_user_location ON jobs (user_id, latitude, longitude)
+    WHERE latitude IS NOT NULL;
+CREATE INDEX idx_clients_user_location ON clients (user_id, latitude, longitude)
+    WHERE latitude IS NOT NULL;
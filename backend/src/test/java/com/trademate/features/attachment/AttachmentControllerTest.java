@@ -0,0 +1,24 @@
+package com.trademate.features.attachment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentControllerTest {
+
+    @Test
+    void rasterImagesAndPdfsAreShownInline() {
+        assertThat(AttachmentController.isInlineSafe("image/jpeg")).isTrue();
+        assertThat(AttachmentController.isInlineSafe("IMAGE/PNG")).isTrue();
+        assertThat(AttachmentController.isInlineSafe("application/pdf; charset=binary")).isTrue();
+    }
+
+    @Test
+    void scriptableTypesAreDownloaded() {
+        assertThat(AttachmentController.isInlineSafe("image/svg+xml")).isFalse();
+        assertThat(AttachmentController.isInlineSafe("image/svg+xml; charset=utf-8")).isFalse();
+        assertThat(AttachmentController.isInlineSafe("text/html")).isFalse();
+        assertThat(AttachmentController.isInlineSafe("application/xhtml+xml")).isFalse();
+        assertThat(AttachmentController.isInlineSafe(null)).isFalse();
+    }
+}
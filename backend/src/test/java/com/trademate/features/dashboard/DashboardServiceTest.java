@@ -0,0 +1,45 @@
+package com.trademate.features.dashboard;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.ClientRepository;
+import com.trademate.features.invoice.InvoiceService;
+import com.trademate.features.job.JobRepository;
+import com.trademate.features.job.RecurrenceService;
+import com.trademate.features.job.model.JobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final InvoiceService invoiceService = mock(InvoiceService.class);
+    private final DashboardService service = new DashboardService(userRepository, jobRepository,
+            mock(ClientRepository.class), mock(RecurrenceService.class), invoiceService);
+
+    @Test
+    void totalsIncludeArchivedJobs() {
+        User user = User.builder().id(UUID.randomUUID()).username("alice").build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(invoiceService.revenueStats(any())).thenReturn(Map.of());
+        when(jobRepository.countByUserId(user.getId())).thenReturn(10L);
+        when(jobRepository.countByUserIdAndStatus(user.getId(), JobStatus.PENDING)).thenReturn(4L);
+        when(jobRepository.countByUserIdAndStatus(user.getId(), JobStatus.COMPLETED)).thenReturn(3L);
+        when(jobRepository.countArchivedByUserId(user.getId())).thenReturn(20L);
+
+        Map<String, Object> stats = service.getStats("alice");
+
+        assertThat(stats).containsEntry("totalJobs", 30L)
+                .containsEntry("pendingJobs", 4L)
+                .containsEntry("completedJobs", 23L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.model.User;
+import com.trademate.shared.events.DomainEventType;
+import com.trademate.shared.events.OutboxWriter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobArchiverTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 8, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OutboxWriter outboxWriter = mock(OutboxWriter.class);
+    private final JobArchiver archiver =
+            new JobArchiver(jdbcTemplate, outboxWriter, mock(PlatformTransactionManager.class));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void emitsOneArchivedEventPerMovedJobGroupedByOwner() throws Exception {
+        configure(10);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("user_id", UUID.class)).thenReturn(ALICE, BOB, ALICE);
+        when(rs.getString("username")).thenReturn("alice", "bob", "alice");
+        when(rs.getLong("id")).thenReturn(1L, 2L, 3L);
+        when(rs.getString("status")).thenReturn("COMPLETED");
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(CREATED));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), eq(10));
+
+        archiver.archiveCompletedJobs();
+
+        ArgumentCaptor<User> users = ArgumentCaptor.forClass(User.class);
+        ArgumentCaptor<Map<Long, Map<String, Object>>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(outboxWriter, times(2)).appendAll(eq(DomainEventType.JOB_ARCHIVED), users.capture(),
+                payloads.capture());
+        assertThat(users.getAllValues()).extracting(User::getId, User::getUsername)
+                .containsExactlyInAnyOrder(
+                        tuple(ALICE, "alice"),
+                        tuple(BOB, "bob"));
+        assertThat(payloads.getAllValues()).extracting(Map::keySet)
+                .containsExactlyInAnyOrder(Set.of(1L, 3L), Set.of(2L));
+        assertThat(payloads.getAllValues().get(0).values())
+                .allSatisfy(payload -> assertThat(payload).containsEntry("createdAt", CREATED.toString()));
+    }
+
+    @Test
+    void emitsNothingWhenNothingMoved() {
+        configure(10);
+
+        archiver.archiveCompletedJobs();
+
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), eq(10));
+        verify(outboxWriter, never()).appendAll(any(), any(), any());
+    }
+
+    private void configure(int batchSize) {
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "completedOlderThan", Duration.ofDays(365));
+        ReflectionTestUtils.setField(archiver, "batchSize", batchSize);
+    }
+}
@@ -0,0 +1,112 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.job.dto.JobConflict;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobConflictServiceTest {
+
+    private final User alice = User.builder().id(UUID.randomUUID()).username("alice").build();
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JobConflictService service = new JobConflictService(jobRepository, userRepository,
+            new RecurrenceService(jobRepository), JobConflictService.Mode.WARN, Duration.ofMinutes(60),
+            Duration.ofDays(30), Duration.ofDays(365), Duration.ofMinutes(10));
+
+    private final LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private Job weeklyTemplate;
+
+    @BeforeEach
+    void setUp() {
+        weeklyTemplate = Job.builder()
+                .id(7L)
+                .user(alice)
+                .title("Pool clean")
+                .status(JobStatus.PENDING)
+                .scheduledDate(nextMonday.minusWeeks(4).atTime(9, 0))
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=MO")
+                .build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        when(jobRepository.findRecurringTemplates(eq(alice.getId()), any())).thenReturn(List.of(weeklyTemplate));
+        when(jobRepository.findMaterializedOccurrences(anyList(), any(), any())).thenReturn(List.of());
+        when(jobRepository.findJobsForDateRange(eq(alice.getId()), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void expandedOccurrencesOfRecurringJobsAreConflicts() {
+        Job booking = job(null, nextMonday.atTime(9, 30), JobStatus.PENDING);
+
+        service.check(alice.getId(), booking);
+
+        assertThat(booking.getConflictingJobIds()).containsExactly(7L);
+    }
+
+    @Test
+    void completedJobsAreLeftOut() {
+        Job done = job(3L, nextMonday.atTime(13, 0), JobStatus.COMPLETED);
+        when(jobRepository.findJobsForDateRange(eq(alice.getId()), any(), any())).thenReturn(List.of(done));
+
+        Job afternoon = job(null, nextMonday.atTime(13, 30), JobStatus.PENDING);
+        service.check(alice.getId(), afternoon);
+        Job completedMorning = job(4L, nextMonday.atTime(9, 0), JobStatus.COMPLETED);
+        service.check(alice.getId(), completedMorning);
+
+        assertThat(afternoon.getConflictingJobIds()).isNull();
+        assertThat(completedMorning.getConflictingJobIds()).isNull();
+    }
+
+    @Test
+    void materializingAnOccurrenceDoesNotConflictWithItself() {
+        Job materialized = RecurrenceService.occurrence(weeklyTemplate, nextMonday.atTime(9, 0));
+
+        service.check(alice.getId(), materialized);
+
+        assertThat(materialized.getConflictingJobIds()).isNull();
+    }
+
+    @Test
+    void scanReportsOccurrencesByTheirRecurringJob() {
+        Job overlapping = job(3L, nextMonday.atTime(9, 30), JobStatus.PENDING);
+        when(jobRepository.findJobsForDateRange(eq(alice.getId()), any(), any())).thenReturn(List.of(overlapping));
+
+        List<JobConflict> conflicts = service.scan("alice", nextMonday.atStartOfDay(), nextMonday.plusDays(1)
+                .atStartOfDay());
+
+        assertThat(conflicts).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getJobId()).isEqualTo(7L);
+            assertThat(conflict.getConflictingJobId()).isEqualTo(3L);
+            assertThat(conflict.getOverlapStart()).isEqualTo(nextMonday.atTime(9, 30));
+            assertThat(conflict.getOverlapEnd()).isEqualTo(nextMonday.atTime(10, 0));
+        });
+    }
+
+    private Job job(Long id, LocalDateTime scheduledDate, JobStatus status) {
+        return Job.builder()
+                .id(id)
+                .user(alice)
+                .title("Job")
+                .status(status)
+                .scheduledDate(scheduledDate)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobEvent;
+import com.trademate.features.job.model.JobEventType;
+import com.trademate.features.job.model.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class JobHistoryServiceTest {
+
+    private final JobHistoryWriter writer = mock(JobHistoryWriter.class);
+    private final JobHistoryService service =
+            new JobHistoryService(mock(JdbcTemplate.class), writer, mock(UserRepository.class));
+
+    @Test
+    void recordsDurationAndRecurrenceChanges() {
+        Job job = job();
+        var before = JobHistoryService.snapshot(job);
+        job.setEstimatedDurationMinutes(90);
+        job.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+
+        service.recordUpdate(job, before, "alice");
+
+        List<JobEvent> events = written();
+        assertThat(events).extracting(JobEvent::getField, JobEvent::getOldValue, JobEvent::getNewValue)
+                .containsExactly(
+                        tuple("estimatedDurationMinutes", "60", "90"),
+                        tuple("recurrenceRule", null, "FREQ=WEEKLY;BYDAY=MO"));
+        assertThat(events).extracting(JobEvent::getType).containsOnly(JobEventType.UPDATED);
+    }
+
+    @Test
+    void recordsNothingWhenNothingChanged() {
+        Job job = job();
+        var before = JobHistoryService.snapshot(job);
+
+        service.recordUpdate(job, before, "alice");
+
+        assertThat(written()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<JobEvent> written() {
+        ArgumentCaptor<List<JobEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer).write(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Job job() {
+        return Job.builder()
+                .id(1L)
+                .user(User.builder().id(UUID.randomUUID()).username("alice").build())
+                .title("Boiler service")
+                .status(JobStatus.PENDING)
+                .scheduledDate(LocalDateTime.of(2026, 3, 2, 9, 0))
+                .estimatedDurationMinutes(60)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.trademate.features.job;
+
+import com.trademate.features.job.model.JobEvent;
+import com.trademate.features.job.model.JobEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.FlywayPreparer;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobHistoryWriterTest {
+
+    @RegisterExtension
+    static final PreparedDbExtension DB =
+            EmbeddedPostgresExtension.preparedDatabase(FlywayPreparer.forClasspathLocation("db/migration"));
+
+    @Test
+    void persistsRowsWrittenDirectlyWhenTheRingIsFull() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(DB.getTestDatabase());
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(DB.getTestDatabase());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JobHistoryWriter writer = new JobHistoryWriter(jdbcTemplate, transactionManager, registry,
+                JobHistoryWriter.Durability.ASYNC, 1, 200, Duration.ofMillis(10));
+        // With the flusher stopped the one-slot ring stays full after the first row.
+        writer.shutdown();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> writer.write(events(3)));
+
+        assertThat(registry.counter("job.history.buffer.overflows").count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT field FROM job_events ORDER BY id", String.class))
+                .containsExactly("field1", "field2");
+    }
+
+    private static List<JobEvent> events(int count) {
+        UUID userId = UUID.randomUUID();
+        return IntStream.range(0, count)
+                .mapToObj(i -> JobEvent.builder()
+                        .jobId(1L)
+                        .userId(userId)
+                        .actor("alice")
+                        .type(JobEventType.UPDATED)
+                        .field("field" + i)
+                        .occurredAt(LocalDateTime.now())
+                        .build())
+                .toList();
+    }
+}
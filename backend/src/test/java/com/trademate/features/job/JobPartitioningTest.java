@@ -0,0 +1,115 @@
+package com.trademate.features.job;
+
+import com.trademate.shared.events.OutboxWriter;
+import io.zonky.test.db.postgres.embedded.FlywayPreparer;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** Runs the Flyway migrations on an embedded Postgres and checks the jobs partitioning against real plans. */
+class JobPartitioningTest {
+
+    @RegisterExtension
+    static final PreparedDbExtension DB =
+            EmbeddedPostgresExtension.preparedDatabase(FlywayPreparer.forClasspathLocation("db/migration"));
+
+    private static final DateTimeFormatter PARTITION = DateTimeFormatter.ofPattern("'jobs_'yyyy_MM");
+
+    private JdbcTemplate jdbcTemplate;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(DB.getTestDatabase());
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) "
+                + "VALUES (?, ?, ?, 'x', 'USER', now())", userId, "user-" + userId, userId + "@example.com");
+    }
+
+    @Test
+    void newJobsLandInTheCurrentMonthsPartition() {
+        long id = insertJob(LocalDateTime.now(), "PENDING");
+
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM jobs WHERE id = ?", String.class, id);
+        assertThat(partition).isEqualTo(LocalDate.now().format(PARTITION));
+    }
+
+    @Test
+    void lookupsByIdScanOnePartition() {
+        long id = insertJob(LocalDateTime.now(), "PENDING");
+
+        assertThat(partitionsScanned("SELECT * FROM jobs WHERE id = " + id)).isEqualTo(1);
+        assertThat(partitionsScanned("UPDATE jobs SET title = 'x' WHERE id = " + id + " AND version = 0"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void maintainerCreatesPartitionsAhead() {
+        JobPartitionMaintainer maintainer = new JobPartitionMaintainer(jdbcTemplate);
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", 6);
+
+        maintainer.ensureFuturePartitions();
+
+        String last = LocalDate.now().plusMonths(6).format(PARTITION);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, last)).isTrue();
+    }
+
+    @Test
+    void archiverMovesOnlyOldCompletedJobsAndPrunesNewerPartitions() {
+        LocalDate old = LocalDate.now().minusMonths(14);
+        jdbcTemplate.queryForList("SELECT create_jobs_partition(?)", old);
+        long oldCompleted = insertJob(old, old.atTime(9, 0), "COMPLETED");
+        long oldOpen = insertJob(old, old.atTime(9, 0), "PENDING");
+        long recentCompleted = insertJob(LocalDateTime.now(), "COMPLETED");
+
+        JobArchiver archiver = new JobArchiver(jdbcTemplate, mock(OutboxWriter.class),
+                new DataSourceTransactionManager(DB.getTestDatabase()));
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "completedOlderThan", Duration.ofDays(365));
+        ReflectionTestUtils.setField(archiver, "batchSize", 100);
+        archiver.archiveCompletedJobs();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM jobs_archive", Long.class)).containsExactly(oldCompleted);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM jobs ORDER BY id", Long.class))
+                .containsExactly(oldOpen, recentCompleted);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM jobs "
+                + "WHERE id < jobs_month_first_id((CAST('" + LocalDate.now().minusYears(1)
+                + "' AS DATE) + INTERVAL '1 month')::date)", String.class));
+        assertThat(plan).doesNotContain(LocalDate.now().format(PARTITION));
+    }
+
+    private long insertJob(LocalDateTime createdAt, String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO jobs (user_id, title, status, created_at, updated_at) "
+                + "VALUES (?, 'Job', ?, ?, ?) RETURNING id", Long.class, userId, status,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    /** Inserts a job as if created in the given month, with an id from that month's range. */
+    private long insertJob(LocalDate month, LocalDateTime createdAt, String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO jobs (id, user_id, title, status, created_at, updated_at) "
+                + "VALUES (jobs_month_first_id(?) + nextval('jobs_id_seq'), ?, 'Job', ?, ?, ?) RETURNING id",
+                Long.class, month, userId, status, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    private long partitionsScanned(String statement) {
+        return jdbcTemplate.queryForList("EXPLAIN " + statement, String.class).stream()
+                .filter(line -> line.contains("Scan") && line.matches(".* on jobs_(legacy|\\d{4}_\\d{2}).*"))
+                .count();
+    }
+}
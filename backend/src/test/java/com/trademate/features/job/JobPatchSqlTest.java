@@ -0,0 +1,121 @@
+package com.trademate.features.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.Role;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.ClientRepository;
+import com.trademate.features.client.model.Client;
+import com.trademate.features.geo.Gazetteer;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import com.trademate.shared.events.OutboxWriter;
+import com.trademate.shared.projection.ProjectionQuery;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a merge patch through JobService against an in-memory database and
+ * inspects the SQL Hibernate issues, to show that @DynamicUpdate keeps the
+ * UPDATE to the columns the patch changed.
+ */
+class JobPatchSqlTest {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    private static final StatementInspector RECORDER = sql -> {
+        statements.add(sql);
+        return sql;
+    };
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void startDatabase() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:job-patch;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                // Spring Boot's default, so column names match the real schema
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.STATEMENT_INSPECTOR, RECORDER)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(User.class, Client.class, Job.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void onePropertyPatchUpdatesOnlyThatColumn() throws Exception {
+        Long jobId = sessionFactory.fromTransaction(session -> {
+            User user = User.builder().username("alice").email("alice@example.com").password("x")
+                    .role(Role.PROVIDER).createdAt(LocalDateTime.now()).build();
+            session.persist(user);
+            Job job = Job.builder().user(user).title("Boiler service").description("Annual service")
+                    .address("1 High St").status(JobStatus.PENDING).notes("Side gate")
+                    .scheduledDate(LocalDateTime.of(2026, 3, 2, 9, 0)).estimatedDurationMinutes(60)
+                    .createdAt(LocalDateTime.now()).build();
+            session.persist(job);
+            return job.getId();
+        });
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        sessionFactory.inTransaction(session -> {
+            JobService service = jobService(session, objectMapper);
+            statements.clear();
+            try {
+                service.patchJob("alice", jobId, objectMapper.readTree("{\"title\": \"Boiler repair\"}"), null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<String> updates = statements.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("update jobs"))
+                .toList();
+        assertThat(updates).hasSize(1);
+        assertThat(setColumns(updates.get(0))).containsExactlyInAnyOrder("title", "updated_at", "version");
+    }
+
+    private static JobService jobService(Session session, ObjectMapper objectMapper) {
+        User user = session.bySimpleNaturalId(User.class).load("alice");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        JobRepository jobRepository = new JpaRepositoryFactory(session).getRepository(JobRepository.class);
+        return new JobService(jobRepository, userRepository, mock(ClientRepository.class),
+                mock(OutboxWriter.class), mock(JobHistoryService.class), mock(RecurrenceService.class),
+                mock(JobConflictService.class), mock(Gazetteer.class), objectMapper, mock(ProjectionQuery.class));
+    }
+
+    /** Column names in the SET clause of an UPDATE. */
+    private static List<String> setColumns(String update) {
+        String lower = update.toLowerCase();
+        String set = lower.substring(lower.indexOf(" set ") + 5, lower.indexOf(" where "));
+        return List.of(set.split(",")).stream().map(a -> a.substring(0, a.indexOf('=')).trim()).toList();
+    }
+}
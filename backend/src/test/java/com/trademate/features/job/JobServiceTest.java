@@ -0,0 +1,89 @@
+package com.trademate.features.job;
+
+import com.trademate.features.auth.UserRepository;
+import com.trademate.features.auth.model.User;
+import com.trademate.features.client.ClientRepository;
+import com.trademate.features.geo.Gazetteer;
+import com.trademate.features.job.model.Job;
+import com.trademate.features.job.model.JobStatus;
+import com.trademate.shared.events.OutboxWriter;
+import com.trademate.shared.projection.ProjectionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobServiceTest {
+
+    private final User alice = User.builder().id(UUID.randomUUID()).username("alice").build();
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JobService service = new JobService(jobRepository, userRepository, mock(ClientRepository.class),
+            mock(OutboxWriter.class), mock(JobHistoryService.class), mock(RecurrenceService.class),
+            mock(JobConflictService.class), mock(Gazetteer.class), Jackson2ObjectMapperBuilder.json().build(),
+            mock(ProjectionQuery.class));
+
+    private Job template;
+
+    @BeforeEach
+    void setUp() {
+        template = Job.builder()
+                .id(7L)
+                .user(alice)
+                .title("Pool clean")
+                .status(JobStatus.PENDING)
+                .scheduledDate(LocalDateTime.of(2026, 3, 2, 9, 0))
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=MO")
+                .createdAt(LocalDateTime.of(2026, 2, 1, 8, 0))
+                .build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        when(jobRepository.findByIdAndUserId(7L, alice.getId())).thenReturn(Optional.of(template));
+        when(jobRepository.saveAndFlush(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateWithoutARecurrenceRuleKeepsTheTemplateRecurring() {
+        // What the web client sends: no recurrenceRule field at all
+        Job request = Job.builder()
+                .title("Pool clean and filter")
+                .status(JobStatus.PENDING)
+                .scheduledDate(LocalDateTime.of(2026, 3, 2, 10, 0))
+                .build();
+
+        Job saved = service.updateJob("alice", 7L, request, null);
+
+        assertThat(saved.getTitle()).isEqualTo("Pool clean and filter");
+        assertThat(saved.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY;BYDAY=MO");
+    }
+
+    @Test
+    void updateWithoutADurationKeepsTheStoredOne() {
+        template.setEstimatedDurationMinutes(90);
+        Job request = Job.builder()
+                .title("Pool clean")
+                .status(JobStatus.PENDING)
+                .scheduledDate(LocalDateTime.of(2026, 3, 2, 9, 0))
+                .build();
+
+        Job saved = service.updateJob("alice", 7L, request, null);
+
+        assertThat(saved.getEstimatedDurationMinutes()).isEqualTo(90);
+    }
+
+    @Test
+    void patchCanStillClearTheRecurrenceRule() throws Exception {
+        var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Job saved = service.patchJob("alice", 7L, objectMapper.readTree("{\"recurrenceRule\": null}"), null);
+
+        assertThat(saved.getRecurrenceRule()).isNull();
+    }
+}
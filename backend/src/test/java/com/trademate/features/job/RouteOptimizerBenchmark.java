@@ -0,0 +1,51 @@
+package com.trademate.features.job;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route optimization over stops scattered around central London. Targets:
+ * 50 stops converge (no budget) within the 80 ms route budget, and building
+ * plus solving 200 stops under that budget answers within 100 ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteOptimizerBenchmark {
+
+    private static final long ROUTE_BUDGET = TimeUnit.MILLISECONDS.toNanos(80);
+
+    @Param({"0", "1", "2"})
+    public long seed;
+
+    private RouteOptimizer fiftyStops;
+
+    @Setup
+    public void setUp() {
+        fiftyStops = RouteOptimizerTest.optimizer(50, seed);
+    }
+
+    @Benchmark
+    public int[] convergeOnFiftyStops() {
+        return fiftyStops.solve(Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int[] answerTwoHundredStopsWithinTheBudget() {
+        return RouteOptimizerTest.optimizer(200, seed).solve(ROUTE_BUDGET);
+    }
+}
@@ -0,0 +1,69 @@
+package com.trademate.features.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteOptimizerTest {
+
+    private static final double DAY_START = 8 * 60;
+    private static final long ROUTE_BUDGET = TimeUnit.MILLISECONDS.toNanos(80);
+
+    @Test
+    void visitsAWindowedStopBeforeACloserOne() {
+        // Stop 0 is next to the depot but opens late; stop 1 is further away and closes early.
+        RouteOptimizer optimizer = new RouteOptimizer(
+                new double[] {51.501, 51.55}, new double[] {-0.12, -0.12}, 51.5, -0.12,
+                new double[] {10 * 60, 0}, new double[] {17 * 60, 9 * 60}, new double[] {30, 30}, 40, DAY_START);
+
+        int[] route = optimizer.solve(ROUTE_BUDGET);
+
+        assertThat(route).containsExactly(1, 0);
+        assertThat(optimizer.cost(route)).isLessThan(RouteOptimizer.LATE_PENALTY);
+    }
+
+    @Test
+    void improvesOnTheNearestNeighbourRouteForFiftyStops() {
+        for (int seed = 0; seed < 5; seed++) {
+            RouteOptimizer optimizer = optimizer(50, seed);
+            int[] route = optimizer.solve(Long.MAX_VALUE);
+
+            assertIsPermutation(route, 50);
+            assertThat(optimizer.cost(route)).isLessThan(optimizer.cost(optimizer.solve(0)));
+        }
+    }
+
+    @Test
+    void visitsEveryStopOfALargeRouteWithinTheBudget() {
+        assertIsPermutation(optimizer(200, 0).solve(ROUTE_BUDGET), 200);
+    }
+
+    /** Stops scattered over roughly 30 km around central London, each with a two-hour window. */
+    static RouteOptimizer optimizer(int stops, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] latitudes = new double[stops];
+        double[] longitudes = new double[stops];
+        double[] earliest = new double[stops];
+        double[] latest = new double[stops];
+        double[] service = new double[stops];
+        for (int i = 0; i < stops; i++) {
+            latitudes[i] = 51.5 + random.nextDouble(-0.15, 0.15);
+            longitudes[i] = -0.12 + random.nextDouble(-0.25, 0.25);
+            earliest[i] = DAY_START + random.nextInt(0, 8 * 60);
+            latest[i] = earliest[i] + 120;
+            service[i] = 5;
+        }
+        return new RouteOptimizer(latitudes, longitudes, 51.5, -0.12, earliest, latest, service, 40, DAY_START);
+    }
+
+    private static void assertIsPermutation(int[] route, int stops) {
+        int[] sorted = route.clone();
+        Arrays.sort(sorted);
+        assertThat(sorted).containsExactly(IntStream.range(0, stops).toArray());
+    }
+}
@@ -0,0 +1,57 @@
+package com.trademate.features.job.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k templates of mixed frequencies expanded over a one-year window, as a
+ * busy calendar year would. Target: under 250 ms and under 10 MB allocated
+ * (1 KB per rule) per run; {@code -Dbenchmarks="RecurrenceRule -prof gc"}
+ * reports the allocation as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceRuleBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = FROM.plusYears(1);
+
+    private RecurrenceRule[] rules;
+    private LocalDate[] starts;
+
+    @Setup
+    public void setUp() {
+        String[] mix = {"FREQ=DAILY", "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=WEEKLY;INTERVAL=2",
+                "FREQ=MONTHLY", "FREQ=MONTHLY;INTERVAL=3", "FREQ=YEARLY"};
+        rules = new RecurrenceRule[10_000];
+        starts = new LocalDate[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = RecurrenceRule.parse(mix[i % mix.length]);
+            starts[i] = FROM.minusDays(i % 400);
+        }
+    }
+
+    @Benchmark
+    public long expandTenThousandRulesOverAYear() {
+        long[] occurrences = new long[1];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i].expand(starts[i], FROM, TO, day -> occurrences[0]++);
+        }
+        return occurrences[0];
+    }
+}
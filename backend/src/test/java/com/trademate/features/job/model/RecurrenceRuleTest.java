@@ -0,0 +1,46 @@
+package com.trademate.features.job.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = FROM.plusYears(1);
+
+    @Test
+    void expandsWeeklyByDayWithinTheWindowOnly() {
+        List<LocalDate> days = expand("FREQ=WEEKLY;BYDAY=MO,TH", LocalDate.of(2025, 12, 1),
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 16));
+
+        assertThat(days).containsExactly(LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 8),
+                LocalDate.of(2026, 1, 12), LocalDate.of(2026, 1, 15));
+    }
+
+    @Test
+    void honoursCountFromTheSeriesStart() {
+        List<LocalDate> days = expand("FREQ=MONTHLY;INTERVAL=3;COUNT=4", LocalDate.of(2025, 11, 15), FROM, TO);
+
+        assertThat(days).containsExactly(LocalDate.of(2026, 2, 15), LocalDate.of(2026, 5, 15),
+                LocalDate.of(2026, 8, 15));
+    }
+
+    @Test
+    void honoursUntil() {
+        List<LocalDate> days = expand("FREQ=DAILY;INTERVAL=2;UNTIL=20260107T000000Z", FROM, FROM, TO);
+
+        assertThat(days).containsExactly(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 3),
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 7));
+    }
+
+    private static List<LocalDate> expand(String rule, LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        RecurrenceRule.parse(rule).expand(start, from, to, day -> days.add(LocalDate.ofEpochDay(day)));
+        return days;
+    }
+}
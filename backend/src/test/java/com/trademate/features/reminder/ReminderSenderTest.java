@@ -0,0 +1,92 @@
+package com.trademate.features.reminder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderSenderTest {
+
+    private static final LocalDateTime SCHEDULED = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReminderNotifier notifier = mock(ReminderNotifier.class);
+    private final ReminderSender sender = new ReminderSender(jdbcTemplate, notifier, new SimpleMeterRegistry());
+
+    @Test
+    void sentReminderIsDone() {
+        Reminder reminder = reminder();
+        claims(List.of(reminder));
+
+        assertThat(sender.send(1L, SCHEDULED)).isTrue();
+
+        verify(notifier).send(reminder);
+        verify(jdbcTemplate, never()).update(anyString(), any(), any());
+    }
+
+    @Test
+    void nothingToClaimIsDone() {
+        claims(List.of());
+
+        assertThat(sender.send(1L, SCHEDULED)).isTrue();
+    }
+
+    @Test
+    void failedClaimIsRetried() {
+        when(jdbcTemplate.query(anyString(), anyRowMapper(), eq(1L), any(Timestamp.class)))
+                .thenThrow(new DataAccessResourceFailureException("no connection"));
+
+        assertThat(sender.send(1L, SCHEDULED)).isFalse();
+
+        verify(notifier, never()).send(any());
+    }
+
+    @Test
+    void failedNotificationReleasesTheClaimAndIsRetried() {
+        Reminder reminder = reminder();
+        claims(List.of(reminder));
+        doThrow(new IllegalStateException("smtp down")).when(notifier).send(reminder);
+
+        assertThat(sender.send(1L, SCHEDULED)).isFalse();
+
+        verify(jdbcTemplate).update(anyString(), eq(1L), eq(Timestamp.valueOf(SCHEDULED)));
+    }
+
+    @Test
+    void claimThatCannotBeReleasedIsNotRetried() {
+        Reminder reminder = reminder();
+        claims(List.of(reminder));
+        doThrow(new IllegalStateException("smtp down")).when(notifier).send(reminder);
+        when(jdbcTemplate.update(anyString(), eq(1L), any(Timestamp.class)))
+                .thenThrow(new DataAccessResourceFailureException("no connection"));
+
+        assertThat(sender.send(1L, SCHEDULED)).isTrue();
+    }
+
+    private void claims(List<Reminder> reminders) {
+        when(jdbcTemplate.query(anyString(), anyRowMapper(), eq(1L), any(Timestamp.class))).thenReturn(reminders);
+    }
+
+    private static RowMapper<Reminder> anyRowMapper() {
+        return any();
+    }
+
+    private static Reminder reminder() {
+        return new Reminder(1L, "Boiler service", "1 High St", SCHEDULED, "alice", "alice@example.com", null, null);
+    }
+}
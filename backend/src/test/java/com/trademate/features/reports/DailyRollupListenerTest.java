@@ -0,0 +1,92 @@
+package com.trademate.features.reports;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyRollupListenerTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final DailyRollupListener listener = new DailyRollupListener(jdbcTemplate, namedJdbcTemplate);
+
+    @Test
+    void skipsOnlyTheDaysARebuildAlreadyCounted() throws Exception {
+        // Created on Monday, completed today; the rebuild covered Monday but not today.
+        coveredEvent(1L, MONDAY, MONDAY.plusDays(1));
+        DomainEvent createdCompleted = event(1L, DomainEventType.JOB_CREATED, "COMPLETED", MONDAY.plusDays(3));
+        DomainEvent clientCreated = event(2L, DomainEventType.CLIENT_CREATED, null, MONDAY.plusDays(3));
+
+        listener.onEvents(List.of(createdCompleted, clientCreated));
+
+        assertThat(upserts()).extracting(row -> row[1], row -> row[2], row -> row[3], row -> row[4])
+                .containsExactly(
+                        tuple(Date.valueOf(MONDAY), 0, 0, 1),
+                        tuple(Date.valueOf(MONDAY.plusDays(3)), 0, 1, 0));
+        verify(namedJdbcTemplate).update(startsWith("DELETE FROM daily_rollup_covered_events"),
+                eq(Map.of("ids", Set.of(1L))));
+    }
+
+    @Test
+    void writesNothingWhenEveryDayWasCovered() throws Exception {
+        coveredEvent(1L, MONDAY, MONDAY.plusDays(7));
+
+        listener.onEvents(List.of(event(1L, DomainEventType.JOB_CREATED, "PENDING", MONDAY)));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void coveredEvent(long id, LocalDate from, LocalDate to) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("event_id")).thenReturn(id);
+        when(rs.getDate("from_day")).thenReturn(Date.valueOf(from));
+        when(rs.getDate("to_day")).thenReturn(Date.valueOf(to));
+        doAnswer(invocation -> {
+            invocation.getArgument(2, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(namedJdbcTemplate).query(startsWith("SELECT event_id"), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    private List<Object[]> upserts() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static DomainEvent event(long id, DomainEventType type, String status, LocalDate occurred) {
+        Map<String, Object> payload = status == null
+                ? Map.of("createdAt", MONDAY.atTime(9, 0).toString())
+                : Map.of("createdAt", MONDAY.atTime(9, 0).toString(), "status", status);
+        return new DomainEvent(id, type, id, USER, "alice", payload, occurred.atTime(LocalTime.NOON));
+    }
+}
@@ -0,0 +1,104 @@
+package com.trademate.features.reports;
+
+import com.trademate.shared.events.DomainEvent;
+import com.trademate.shared.events.DomainEventType;
+import io.zonky.test.db.postgres.embedded.FlywayPreparer;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** Runs the Flyway migrations on an embedded Postgres and replays the outbox over a rebuild. */
+class DailyRollupRepairTest {
+
+    @RegisterExtension
+    static final PreparedDbExtension DB =
+            EmbeddedPostgresExtension.preparedDatabase(FlywayPreparer.forClasspathLocation("db/migration"));
+
+    private static final LocalDateTime YESTERDAY = LocalDate.now().minusDays(1).atTime(9, 0);
+    private static final LocalDateTime TODAY = LocalDate.now().atStartOfDay();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactions;
+    private DailyRollupRepairer repairer;
+    private DailyRollupListener listener;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(DB.getTestDatabase());
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(DB.getTestDatabase());
+        transactions = new TransactionTemplate(transactionManager);
+        repairer = new DailyRollupRepairer(jdbcTemplate, namedJdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(repairer, "repairDays", 7);
+        listener = new DailyRollupListener(jdbcTemplate, namedJdbcTemplate);
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) "
+                + "VALUES (?, ?, ?, 'x', 'USER', now())", userId, "user-" + userId, userId + "@example.com");
+    }
+
+    @Test
+    void eventsStillInTheOutboxAreNotCountedTwiceAfterARebuild() {
+        List<DomainEvent> pending = new ArrayList<>();
+        long jobId = jdbcTemplate.queryForObject("INSERT INTO jobs (user_id, title, status, created_at, updated_at) "
+                + "VALUES (?, 'Boiler service', 'PENDING', ?, ?) RETURNING id", Long.class, userId,
+                Timestamp.valueOf(YESTERDAY), Timestamp.valueOf(YESTERDAY));
+        pending.add(outbox(DomainEventType.JOB_CREATED, jobId, YESTERDAY));
+        long clientId = jdbcTemplate.queryForObject("INSERT INTO clients (user_id, name, created_at) "
+                + "VALUES (?, 'Alice', ?) RETURNING id", Long.class, userId, Timestamp.valueOf(YESTERDAY));
+        pending.add(outbox(DomainEventType.CLIENT_CREATED, clientId, YESTERDAY));
+
+        repairer.repairRecentDays();
+
+        assertThat(rollups()).containsExactly(tuple(Date.valueOf(YESTERDAY.toLocalDate()), 1, 0, 1));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM daily_rollup_covered_events", Integer.class))
+                .isEqualTo(2);
+
+        // Created after the rebuild, on a day it did not cover
+        long todayJobId = jdbcTemplate.queryForObject("INSERT INTO jobs (user_id, title, status, created_at, "
+                + "updated_at) VALUES (?, 'Gutters', 'PENDING', ?, ?) RETURNING id", Long.class, userId,
+                Timestamp.valueOf(TODAY), Timestamp.valueOf(TODAY));
+        pending.add(outbox(DomainEventType.JOB_CREATED, todayJobId, TODAY));
+        transactions.executeWithoutResult(status -> listener.onEvents(pending));
+
+        assertThat(rollups()).containsExactly(
+                tuple(Date.valueOf(YESTERDAY.toLocalDate()), 1, 0, 1),
+                tuple(Date.valueOf(TODAY.toLocalDate()), 1, 0, 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM daily_rollup_covered_events", Integer.class))
+                .isZero();
+    }
+
+    private DomainEvent outbox(DomainEventType type, long aggregateId, LocalDateTime createdAt) {
+        Map<String, Object> payload = Map.of("createdAt", createdAt.toString(), "status", "PENDING");
+        long id = jdbcTemplate.queryForObject("INSERT INTO outbox (event_type, aggregate_id, user_id, username, "
+                + "payload, created_at) VALUES (?, ?, ?, 'alice', ?::jsonb, ?) RETURNING id", Long.class,
+                type.name(), aggregateId, userId, "{}", Timestamp.valueOf(createdAt));
+        return new DomainEvent(id, type, aggregateId, userId, "alice", payload, createdAt);
+    }
+
+    private List<Tuple> rollups() {
+        return jdbcTemplate.query("SELECT day, jobs_created, jobs_completed, clients_created "
+                + "FROM daily_user_rollups WHERE user_id = ? ORDER BY day", (rs, row) -> tuple(rs.getDate(1),
+                rs.getInt(2), rs.getInt(3), rs.getInt(4)), userId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.trademate.shared.cache;
+
+import com.trademate.features.client.model.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.SingleInstancePostgresExtension;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityCacheInvalidatorTest {
+
+    @RegisterExtension
+    static final SingleInstancePostgresExtension PG = EmbeddedPostgresExtension.singleInstance();
+
+    private final Cache cache = mock(Cache.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private EntityCacheInvalidator invalidator;
+
+    @AfterEach
+    void tearDown() {
+        invalidator.stop();
+    }
+
+    @Test
+    void evictsAgainOnceAReplicaHasHadTimeToCatchUp() {
+        invalidator = invalidator("jdbc:postgresql://replica/trademate");
+        invalidator.start();
+        verify(cache, timeout(5000)).evictEntityData(Client.class);
+
+        notify("clients:5");
+
+        verify(cache, timeout(5000)).evictEntityData(Client.class, 5L);
+        // The second eviction clears a row re-cached from the replica in the meantime
+        verify(cache, timeout(5000).times(2)).evictEntityData(Client.class, 5L);
+    }
+
+    @Test
+    void evictsOnceWithoutAReplica() throws Exception {
+        invalidator = invalidator("");
+        invalidator.start();
+        verify(cache, timeout(5000)).evictEntityData(Client.class);
+
+        notify("clients:5");
+        notify("clients:6");
+
+        verify(cache, timeout(5000)).evictEntityData(Client.class, 6L);
+        Thread.sleep(300);
+        verify(cache, times(1)).evictEntityData(Client.class, 5L);
+    }
+
+    private EntityCacheInvalidator invalidator(String replicaJdbcUrl) {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(PG.getEmbeddedPostgres().getJdbcUrl("postgres", "postgres"));
+        properties.setUsername("postgres");
+        properties.setPassword("postgres");
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        EntityCacheInvalidator invalidator = new EntityCacheInvalidator(properties, entityManagerFactory, registry);
+        ReflectionTestUtils.setField(invalidator, "enabled", true);
+        ReflectionTestUtils.setField(invalidator, "jdbcUrl", "");
+        ReflectionTestUtils.setField(invalidator, "retryInterval", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(invalidator, "replicaJdbcUrl", replicaJdbcUrl);
+        ReflectionTestUtils.setField(invalidator, "replicaLag", Duration.ofMillis(200));
+        return invalidator;
+    }
+
+    private void notify(String payload) {
+        new JdbcTemplate(PG.getEmbeddedPostgres().getPostgresDatabase())
+                .queryForList("SELECT pg_notify(?, ?)", EntityCacheInvalidator.CHANNEL, payload);
+    }
+}
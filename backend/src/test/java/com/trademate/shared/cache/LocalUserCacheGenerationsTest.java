@@ -0,0 +1,33 @@
+package com.trademate.shared.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalUserCacheGenerationsTest {
+
+    @Test
+    void bumpMovesOnlyThatUserToANewGeneration() {
+        LocalUserCacheGenerations generations = new LocalUserCacheGenerations(100);
+        long alice = generations.current("alice");
+        long bob = generations.current("bob");
+
+        generations.bump("alice");
+
+        assertThat(generations.current("alice")).isNotEqualTo(alice);
+        assertThat(generations.current("bob")).isEqualTo(bob);
+    }
+
+    @Test
+    void forgettingUsersWhenFullStillInvalidatesThem() {
+        LocalUserCacheGenerations generations = new LocalUserCacheGenerations(1);
+        generations.bump("alice");
+        long bob = generations.current("bob");
+        long alice = generations.current("alice");
+
+        generations.bump("carol");
+
+        assertThat(generations.current("alice")).isNotEqualTo(alice);
+        assertThat(generations.current("bob")).isNotEqualTo(bob);
+    }
+}
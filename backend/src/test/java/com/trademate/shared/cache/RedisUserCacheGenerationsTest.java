@@ -0,0 +1,45 @@
+package com.trademate.shared.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisUserCacheGenerationsTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RedisUserCacheGenerations generations = new RedisUserCacheGenerations(redisTemplate, registry,
+            Duration.ZERO, Duration.ofDays(7), 100);
+
+    @Test
+    void readsTheSharedCounter() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get("cachegen:alice")).thenReturn("3");
+
+        assertThat(generations.current("alice")).isEqualTo(3);
+    }
+
+    @Test
+    void aFailedReadMissesInsteadOfFailingTheRequest() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get("cachegen:alice")).thenThrow(new RedisConnectionFailureException("down"));
+
+        long first = generations.current("alice");
+        long second = generations.current("alice");
+
+        // Below every real generation and never repeated, so nothing cached under it is read back
+        assertThat(first).isNegative();
+        assertThat(second).isNegative().isNotEqualTo(first);
+        assertThat(registry.counter("cache.generations.read.failures").count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,86 @@
+package com.trademate.shared.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig
+class UserGenerationKeyGeneratorTest {
+
+    static class StatsService {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Cacheable(value = "stats", keyGenerator = UserGenerationKeyGenerator.NAME)
+        public int stats(String username, String period) {
+            return loads.incrementAndGet();
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import(UserGenerationKeyGenerator.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("stats");
+        }
+
+        @Bean
+        UserCacheGenerations userCacheGenerations() {
+            return new LocalUserCacheGenerations(100);
+        }
+
+        @Bean
+        StatsService statsService() {
+            return new StatsService();
+        }
+    }
+
+    @Autowired
+    private StatsService service;
+
+    @Autowired
+    private UserCacheGenerations generations;
+
+    @Test
+    void bumpMissesEntriesCachedAtThePreviousGeneration() {
+        int first = service.stats("alice", "week");
+        assertThat(service.stats("alice", "week")).isEqualTo(first);
+
+        generations.bump("alice");
+
+        int reloaded = service.stats("alice", "week");
+        assertThat(reloaded).isNotEqualTo(first);
+        assertThat(service.stats("alice", "week")).isEqualTo(reloaded);
+    }
+
+    @Test
+    void bumpLeavesOtherUsersCached() {
+        int bob = service.stats("bob", "week");
+
+        generations.bump("carol");
+
+        assertThat(service.stats("bob", "week")).isEqualTo(bob);
+    }
+
+    @Test
+    void keysOtherArgumentsWithinAGeneration() {
+        int week = service.stats("dave", "week");
+
+        assertThat(service.stats("dave", "month")).isNotEqualTo(week);
+        assertThat(service.stats("dave", "week")).isEqualTo(week);
+    }
+}
@@ -0,0 +1,73 @@
+package com.trademate.shared.datasource;
+
+import com.trademate.shared.exception.ConnectionAdmissionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlledDataSourceTest {
+
+    private static final AdmissionControlledDataSource.Budget ONE =
+            new AdmissionControlledDataSource.Budget(1, 0, Duration.ZERO);
+
+    private final AdmissionControlledDataSource dataSource;
+
+    AdmissionControlledDataSourceTest() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new AdmissionControlledDataSource(target, ONE, ONE, ONE, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void backgroundWorkDoesNotTakeRequestPermits() throws SQLException {
+        Connection background = dataSource.getConnection();
+
+        inRequest();
+        Connection request = dataSource.getConnection();
+
+        assertThat(background).isNotNull();
+        assertThat(request).isNotNull();
+    }
+
+    @Test
+    void requestBurstDoesNotShedBackgroundWork() throws SQLException {
+        inRequest();
+        dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(ConnectionAdmissionException.class);
+
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void backgroundWorkIsLimitedByItsOwnBudget() throws SQLException {
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(ConnectionAdmissionException.class);
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    private static void inRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
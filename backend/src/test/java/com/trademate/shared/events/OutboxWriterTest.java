@@ -0,0 +1,71 @@
+package com.trademate.shared.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trademate.features.auth.model.User;
+import com.trademate.shared.cache.UserCacheGenerations;
+import io.zonky.test.db.postgres.embedded.FlywayPreparer;
+import io.zonky.test.db.postgres.junit5.EmbeddedPostgresExtension;
+import io.zonky.test.db.postgres.junit5.PreparedDbExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboxWriterTest {
+
+    @RegisterExtension
+    static final PreparedDbExtension DB =
+            EmbeddedPostgresExtension.preparedDatabase(FlywayPreparer.forClasspathLocation("db/migration"));
+
+    @Test
+    void keepsAUsersEventIdsInCommitOrder() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(DB.getTestDatabase());
+        TransactionTemplate transactions =
+                new TransactionTemplate(new DataSourceTransactionManager(DB.getTestDatabase()));
+        OutboxWriter writer = new OutboxWriter(jdbcTemplate, new ObjectMapper(), mock(OutboxSignal.class),
+                mock(UserCacheGenerations.class));
+        User alice = User.builder().id(UUID.randomUUID()).username("alice").build();
+
+        CountDownLatch firstAppended = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactions.executeWithoutResult(status -> {
+            writer.append(DomainEventType.JOB_CREATED, 1L, alice, Map.of());
+            firstAppended.countDown();
+            await(releaseFirst);
+        }));
+        assertThat(firstAppended.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transactions.executeWithoutResult(
+                status -> writer.append(DomainEventType.JOB_UPDATED, 1L, alice, Map.of())));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!second.isDone() && System.nanoTime() < deadline && jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Integer.class) == 0) {
+            Thread.sleep(10);
+        }
+        assertThat(second).as("second writer waits for the first to commit").isNotDone();
+
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM outbox ORDER BY id", String.class))
+                .containsExactly("JOB_CREATED", "JOB_UPDATED");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
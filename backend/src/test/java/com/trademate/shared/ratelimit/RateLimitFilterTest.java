@@ -0,0 +1,74 @@
+package com.trademate.shared.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new LocalRateLimiter(1000), new ObjectMapper(),
+            new SimpleMeterRegistry(), new MockEnvironment()
+                    .withProperty("app.rate-limit.classes[0].name", "writes")
+                    .withProperty("app.rate-limit.classes[0].paths[0]", "/api/jobs/**")
+                    .withProperty("app.rate-limit.classes[0].methods[0]", "POST")
+                    .withProperty("app.rate-limit.classes[0].capacity", "2")
+                    .withProperty("app.rate-limit.classes[0].refill-per-second", "0.1"),
+            true);
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void answers429WithRetryAfterOnceTheBurstIsSpent() throws Exception {
+        assertThat(post("/api/jobs").getStatus()).isEqualTo(200);
+        MockHttpServletResponse last = post("/api/jobs");
+        assertThat(last.getStatus()).isEqualTo(200);
+        assertThat(last.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+
+        MockHttpServletResponse limited = post("/api/jobs");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(limited.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(limited.getHeader(RateLimitFilter.POLICY_HEADER)).isEqualTo("2;w=20");
+        assertThat(limited.getContentAsString()).contains("Rate limit exceeded");
+    }
+
+    @Test
+    void leavesUnmatchedRequestsAlone() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        }
+    }
+
+    private MockHttpServletResponse post(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
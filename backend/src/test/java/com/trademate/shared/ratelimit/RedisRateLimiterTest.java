@@ -0,0 +1,68 @@
+package com.trademate.shared.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisRateLimiterTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("writes", List.of("/api/**"), Set.of(), 2, 0.001);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final RedisRateLimiter limiter =
+            new RedisRateLimiter(redisTemplate, new SimpleMeterRegistry(), 1000, Duration.ofMillis(250));
+
+    @Test
+    void enforcesLocallyWhileRedisIsUnavailable() {
+        when(redisTemplate.execute(anyCallback()))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isTrue();
+        assertThatThrownBy(limiter::sync).isInstanceOf(RedisConnectionFailureException.class);
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isFalse();
+    }
+
+    @Test
+    void reportsTokensTakenWhileRedisWasUnavailableOnceItRecovers() {
+        when(redisTemplate.execute(anyCallback()))
+                .thenThrow(new RedisConnectionFailureException("redis down"))
+                .thenReturn("sha");
+        when(redisTemplate.executePipelined(anyCallback())).thenReturn(List.<Object>of("1.0"));
+        limiter.tryAcquire("alice:writes", policy);
+        assertThatThrownBy(limiter::sync).isInstanceOf(RedisConnectionFailureException.class);
+
+        limiter.sync();
+
+        // The cluster-wide bucket has one token left, which this node adopts
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isFalse();
+    }
+
+    @Test
+    void adoptsTheClusterWideCount() {
+        when(redisTemplate.execute(anyCallback())).thenReturn("sha");
+        when(redisTemplate.executePipelined(anyCallback())).thenReturn(List.<Object>of("0.0"));
+        limiter.tryAcquire("alice:writes", policy);
+
+        limiter.sync();
+
+        // Another node spent the rest of the cluster-wide burst
+        assertThat(limiter.tryAcquire("alice:writes", policy).allowed()).isFalse();
+    }
+
+    private static RedisCallback<String> anyCallback() {
+        return any();
+    }
+}
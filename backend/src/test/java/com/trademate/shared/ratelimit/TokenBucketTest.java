@@ -0,0 +1,74 @@
+package com.trademate.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // Bursts of 3, one token back every 2 seconds
+    private final RateLimitPolicy policy = new RateLimitPolicy("writes", List.of("/api/**"), Set.of(), 3, 0.5);
+
+    @Test
+    void deniesOnceTheBurstIsSpent() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+
+        assertThat(bucket.tryConsume(0).remaining()).isEqualTo(2);
+        assertThat(bucket.tryConsume(0).remaining()).isEqualTo(1);
+        assertThat(bucket.tryConsume(0).remaining()).isZero();
+
+        RateLimiter.Decision denied = bucket.tryConsume(0);
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.limit()).isEqualTo(3);
+        assertThat(denied.retryAfterSeconds()).isEqualTo(2);
+        assertThat(denied.resetSeconds()).isEqualTo(6);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        assertThat(bucket.tryConsume(SECOND).allowed()).isFalse();
+        assertThat(bucket.tryConsume(2 * SECOND).allowed()).isTrue();
+        assertThat(bucket.tryConsume(2 * SECOND).allowed()).isFalse();
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(60 * SECOND).remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void isIdleOnlyWhenFullAndSynced() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.isIdle(10 * SECOND)).isFalse();
+        assertThat(bucket.takePending()).isEqualTo(1);
+        assertThat(bucket.isIdle(SECOND)).isFalse();
+        assertThat(bucket.isIdle(10 * SECOND)).isTrue();
+    }
+
+    @Test
+    void resyncDeductsTokensTakenDuringTheSync() {
+        TokenBucket bucket = new TokenBucket(policy, 0);
+        bucket.tryConsume(0);
+        bucket.takePending();
+        bucket.tryConsume(0);
+
+        bucket.resync(1.0, 0);
+
+        assertThat(bucket.tryConsume(0).allowed()).isFalse();
+    }
+}
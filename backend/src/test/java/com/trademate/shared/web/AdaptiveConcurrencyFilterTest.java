@@ -0,0 +1,92 @@
+package com.trademate.shared.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private static final String DASHBOARD = "/api/dashboard/stats";
+    private static final String JOBS = "/api/jobs";
+
+    // A fixed limit of 10: background may fill 6 slots, normal reads 8.5, writes and logins all 10
+    private final AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(new ObjectMapper(),
+            new SimpleMeterRegistry(), true, 10, 10, 10, 1.5, Duration.ofMinutes(10), 0.85, 0.6,
+            List.of("/api/dashboard/**"), List.of(), Duration.ofSeconds(2));
+
+    @Test
+    void shedsBackgroundThenNormalThenCritical() throws Exception {
+        assertThat(statusWhileHolding(5, "GET", DASHBOARD)).isEqualTo(200);
+        assertThat(statusWhileHolding(6, "GET", DASHBOARD)).isEqualTo(429);
+        assertThat(statusWhileHolding(6, "GET", JOBS)).isEqualTo(200);
+
+        assertThat(statusWhileHolding(8, "GET", JOBS)).isEqualTo(429);
+        assertThat(statusWhileHolding(8, "POST", JOBS)).isEqualTo(200);
+        assertThat(statusWhileHolding(8, "POST", "/api/auth/login")).isEqualTo(200);
+
+        assertThat(statusWhileHolding(10, "POST", JOBS)).isEqualTo(503);
+        assertThat(statusWhileHolding(10, "POST", "/api/auth/login")).isEqualTo(503);
+    }
+
+    @Test
+    void shedResponsesCarryRetryAfter() throws Exception {
+        AtomicReference<MockHttpServletResponse> shed = new AtomicReference<>();
+        hold(6, () -> shed.set(send("GET", DASHBOARD, (request, response) -> { })));
+
+        assertThat(shed.get().getStatus()).isEqualTo(429);
+        assertThat(shed.get().getHeader("Retry-After")).isEqualTo("2");
+    }
+
+    @Test
+    void releasesSlotsWhenRequestsFinish() throws Exception {
+        assertThat(statusWhileHolding(10, "POST", JOBS)).isEqualTo(503);
+
+        assertThat(send("GET", DASHBOARD, (request, response) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    private int statusWhileHolding(int held, String method, String uri) throws Exception {
+        AtomicInteger status = new AtomicInteger();
+        hold(held, () -> status.set(send(method, uri, (request, response) -> { }).getStatus()));
+        return status.get();
+    }
+
+    /** Runs {@code probe} while {@code count} writes are in flight, each nested inside the previous one. */
+    private void hold(int count, Probe probe) throws Exception {
+        if (count == 0) {
+            probe.run();
+            return;
+        }
+        MockHttpServletResponse response = send("POST", JOBS, (request, res) -> {
+            try {
+                hold(count - 1, probe);
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+        });
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Probe {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,115 @@
+package com.trademate.shared.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the filter with 64 clients against a backend that serves 4
+ * requests at a time in 10 ms each, i.e. 16 times its capacity. Run with
+ * {@code mvn -Pload test}.
+ */
+@Tag("load")
+class AdaptiveConcurrencyLoadTest {
+
+    private static final int CLIENTS = 64;
+    private static final int BACKEND_WORKERS = 4;
+    private static final long SERVICE_MILLIS = 10;
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(3);
+
+    private record Result(List<Long> acceptedMillis, int shed) {
+
+        long percentile(double p) {
+            List<Long> sorted = new ArrayList<>(acceptedMillis);
+            Collections.sort(sorted);
+            return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+        }
+
+        double throughput() {
+            return acceptedMillis.size() / (double) MEASURE.toSeconds();
+        }
+    }
+
+    @Test
+    void shedsTheExcessAndKeepsLatencyBoundedPastSaturation() throws Exception {
+        Result unlimited = run(false);
+        Result limited = run(true);
+
+        // Without a limit every client queues at the backend: 64 / 4 * 10 ms
+        assertThat(unlimited.shed()).isZero();
+        assertThat(unlimited.percentile(0.5)).isGreaterThan(100);
+
+        assertThat(limited.shed()).isGreaterThan(limited.acceptedMillis().size());
+        assertThat(limited.percentile(0.99)).isLessThan(unlimited.percentile(0.5) / 2);
+        // Shedding keeps the backend busy rather than starving it
+        assertThat(limited.throughput()).isGreaterThan(0.7 * unlimited.throughput());
+    }
+
+    private Result run(boolean enabled) throws Exception {
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(new ObjectMapper(),
+                new SimpleMeterRegistry(), enabled, 20, 2, 400, 1.5, Duration.ofMinutes(10), 0.85, 0.6,
+                List.of("/api/dashboard/**"), List.of(), Duration.ofSeconds(1));
+        Semaphore workers = new Semaphore(BACKEND_WORKERS, true);
+        FilterChain backend = (request, response) -> {
+            workers.acquireUninterruptibly();
+            try {
+                Thread.sleep(SERVICE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                workers.release();
+            }
+        };
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARM_UP.toNanos();
+        long end = measureFrom + MEASURE.toNanos();
+        List<Long> accepted = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger shed = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() - end < 0) {
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+                        request.setRequestURI("/api/jobs");
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        long sent = System.nanoTime();
+                        filter.doFilter(request, response, backend);
+                        long finished = System.nanoTime();
+                        boolean measured = sent - measureFrom >= 0 && finished - end < 0;
+                        if (response.getStatus() == 200) {
+                            if (measured) {
+                                accepted.add(TimeUnit.NANOSECONDS.toMillis(finished - sent));
+                            }
+                        } else {
+                            if (measured) {
+                                shed.incrementAndGet();
+                            }
+                            // A client backing off briefly, as Retry-After asks
+                            Thread.sleep(SERVICE_MILLIS);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(List.copyOf(accepted), shed.get());
+    }
+}
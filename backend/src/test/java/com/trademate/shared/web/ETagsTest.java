@@ -0,0 +1,45 @@
+package com.trademate.shared.web;
+
+import com.trademate.shared.exception.PreconditionRequiredException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    @Test
+    void ofQuotesTheVersion() {
+        assertThat(ETags.of(7L)).isEqualTo("\"7\"");
+        assertThat(ETags.of(null)).isEqualTo("\"0\"");
+    }
+
+    @Test
+    void requiredVersionParsesStrongTagsOnly() {
+        assertThat(ETags.requiredVersion(ETags.of(42L))).isEqualTo(42L);
+        assertThat(ETags.requiredVersion(" \"3\" ")).isEqualTo(3L);
+        assertThat(ETags.requiredVersion("*")).isNull();
+        assertThat(ETags.requiredVersion("W/\"3\"")).isEqualTo(-1L);
+        assertThat(ETags.requiredVersion("\"abc\"")).isEqualTo(-1L);
+        assertThat(ETags.requiredVersion("\"\"")).isEqualTo(-1L);
+    }
+
+    @Test
+    void requiredVersionRejectsMissingHeader() {
+        assertThatThrownBy(() -> ETags.requiredVersion(null)).isInstanceOf(PreconditionRequiredException.class);
+        assertThatThrownBy(() -> ETags.requiredVersion(" ")).isInstanceOf(PreconditionRequiredException.class);
+    }
+
+    @Test
+    void optionalVersionTreatsMissingHeaderAsAny() {
+        assertThat(ETags.optionalVersion(null)).isNull();
+        assertThat(ETags.optionalVersion("\"5\"")).isEqualTo(5L);
+    }
+
+    @Test
+    void matchesFindsTheTagInIfNoneMatch() {
+        assertThat(ETags.matches("\"1\", \"2\"", 2L)).isTrue();
+        assertThat(ETags.matches("\"1\"", 2L)).isFalse();
+        assertThat(ETags.matches(null, 2L)).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.trademate.shared.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final GradientLimit limit = new GradientLimit(50, 10, 400, 1.5, Duration.ofMinutes(10));
+    private long now;
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        feed(200, 10);
+
+        assertThat(limit.limit()).isGreaterThan(100);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAndRecoversWhenItFalls() {
+        feed(200, 10);
+        int healthy = limit.limit();
+
+        feed(200, 100);
+        int degraded = limit.limit();
+        assertThat(degraded).isLessThan(healthy / 4);
+        // Queueing delay must not be learned as the new baseline
+        assertThat(limit.longRttNanos()).isLessThan(20 * MILLIS);
+
+        feed(200, 10);
+        assertThat(limit.limit()).isGreaterThan(degraded * 2);
+    }
+
+    @Test
+    void aSlowFirstSampleDoesNotBecomeTheBaseline() {
+        // e.g. a cold start: the seed is slow, the requests after it are not
+        limit.onSample(200 * MILLIS, 50, now);
+        feed(50, 10);
+
+        assertThat(limit.longRttNanos()).isLessThan(20 * MILLIS);
+    }
+
+    @Test
+    void neverLeavesItsBounds() {
+        feed(2_000, 10);
+        assertThat(limit.limit()).isEqualTo(400);
+
+        feed(2_000, 1_000);
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void samplesUnderHalfTheLimitLeaveItAlone() {
+        limit.onSample(10 * MILLIS, 50, now);
+        for (int i = 0; i < 100; i++) {
+            now += 10 * MILLIS;
+            limit.onSample(500 * MILLIS, 5, now);
+        }
+
+        assertThat(limit.limit()).isEqualTo(50);
+    }
+
+    /** Feeds {@code count} samples of {@code rttMillis} taken with the whole limit in use, 10ms apart. */
+    private void feed(int count, long rttMillis) {
+        for (int i = 0; i < count; i++) {
+            now += 10 * MILLIS;
+            limit.onSample(rttMillis * MILLIS, limit.limit(), now);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+#!/bin/bash
+# Bootstraps a hot standby from the primary on first start, then runs postgres.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_isready -h postgres -U "$POSTGRES_USER"; do
+        sleep 1
+    done
+    PGPASSWORD="${REPLICATION_PASSWORD:-replicator}" pg_basebackup \
+        -h postgres -U replicator -D "$PGDATA" -X stream -R -P
+    chmod 0700 "$PGDATA"
+fi
+
+exec docker-entrypoint.sh postgres -c hot_standby=on
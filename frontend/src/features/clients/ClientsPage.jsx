@@ -102,7 +102,8 @@ export default function Clients() {
     // Create/update mutation
     const saveMutation = useMutation({
         mutationFn: (values) => editingClient
-            ? api.put(`/clients/${editingClient.id}`, values)
+            ? api.put(`/clients/${editingClient.id}`, values,
+                { headers: { 'If-Match': `"${editingClient.version}"` } })
             : api.post('/clients', values),
         onSuccess: () => {
             queryClient.invalidateQueries({ queryKey: ['clients'] });
@@ -115,7 +116,14 @@ export default function Clients() {
             setEditingClient(null);
             formik.resetForm();
         },
-        onError: () => {
+        onError: (err) => {
+            if (err.response?.status === 412) {
+                queryClient.invalidateQueries({ queryKey: ['clients'] });
+                toast.error("Client changed elsewhere", {
+                    description: "Someone else updated this client. Reopen it to see the latest details."
+                });
+                return;
+            }
             toast.error("Validation Error", { description: "Client profiling failed. Please audit input fields." });
         }
     });
@@ -133,9 +133,11 @@ export default function Jobs() {
 
     // ⚡ Optimistic Create/Update — job appears instantly in the list
     const saveMutation = useMutation({
-        mutationFn: ({ id, payload }) => {
+        mutationFn: ({ id, version, payload }) => {
             if (id) {
-                return api.put(`/jobs/${id}`, payload).then(res => res.data);
+                // If-Match makes the update fail with 412 if someone else saved the job first
+                return api.put(`/jobs/${id}`, payload, { headers: { 'If-Match': `"${version}"` } })
+                    .then(res => res.data);
             }
             return api.post('/jobs', payload).then(res => res.data);
         },
@@ -159,6 +161,12 @@ export default function Jobs() {
         },
         onError: (err, variables, context) => {
             queryClient.setQueryData(['jobs'], context.previousJobs);
+            if (err.response?.status === 412) {
+                toast.error("Job changed elsewhere", {
+                    description: "Someone else updated this job. Reopen it to see the latest details."
+                });
+                return;
+            }
             toast.error("Process error", {
                 description: "Failed to save job details. Please check your data."
             });
@@ -204,7 +212,7 @@ export default function Jobs() {
             };
 
             saveMutation.mutate(
-                { id: editingJob?.id, payload },
+                { id: editingJob?.id, version: editingJob?.version, payload },
                 {
                     onSuccess: () => {
                         setIsSheetOpen(false);